@@ -0,0 +1,22 @@
+package org.example.virtual_tour.benchmarks;
+
+import javafx.application.Platform;
+
+// Starts the JavaFX runtime once per fork. Image and Media need it even though nothing is shown; the
+// fork arguments select the headless Monocle platform and software rendering.
+public final class FxPlatform {
+    public static final String GLASS = "-Dglass.platform=Monocle";
+    public static final String MONOCLE = "-Dmonocle.platform=Headless";
+    public static final String PRISM = "-Dprism.order=sw";
+
+    private static boolean started;
+
+    private FxPlatform() {
+    }
+
+    public static synchronized void start() {
+        if (started) return;
+        Platform.startup(() -> { });
+        started = true;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.virtual_tour.benchmarks;
+
+import javafx.scene.image.Image;
+import org.example.virtual_tour.AssetManifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+// Decode cost of every bundled landmark image, at full size and at the widths the UI asks for
+// (hotspot icon, gallery). decodeVariant is what ImageLoader decodes after AssetManifest.imageUrl
+// picks a pre-scaled copy; decodeOriginal scales the original while decoding.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {FxPlatform.GLASS, FxPlatform.MONOCLE, FxPlatform.PRISM})
+public class ImageDecodeBenchmark {
+    @Param({
+            "/images/mokorotlong/main.jpg", "/images/mokorotlong/1.jpg", "/images/mokorotlong/2.jpg", "/images/mokorotlong/3.png",
+            "/images/royal_palace/main.jpg", "/images/royal_palace/1.jpg", "/images/royal_palace/2.jpg", "/images/royal_palace/3.png",
+            "/images/setsoto_stadium/main.jpg", "/images/setsoto_stadium/1.jpg", "/images/setsoto_stadium/2.jpg", "/images/setsoto_stadium/3.jpg",
+            "/images/parliament/main.jpg", "/images/parliament/1.jpg", "/images/parliament/2.jpg"
+    })
+    public String path;
+
+    // 0 decodes at the image's own size
+    @Param({"0", "64", "600"})
+    public int width;
+
+    private URL original;
+    private URL variant;
+
+    @Setup
+    public void setup() {
+        FxPlatform.start();
+        AssetManifest manifest = AssetManifest.load();
+        AssetManifest.Asset asset = manifest.asset(path);
+        if (asset == null) {
+            throw new IllegalStateException("Not in asset manifest: " + path);
+        }
+        original = manifest.url(asset);
+        variant = width == 0 ? original : manifest.imageUrl(asset, width);
+    }
+
+    @Benchmark
+    public Image decodeOriginal() {
+        return decode(original);
+    }
+
+    @Benchmark
+    public Image decodeVariant() {
+        return decode(variant);
+    }
+
+    private Image decode(URL url) {
+        Image image = new Image(url.toString(), width, 0, true, true, false);
+        if (image.isError()) {
+            throw new IllegalStateException("Could not decode " + url, image.getException());
+        }
+        return image;
+    }
+}
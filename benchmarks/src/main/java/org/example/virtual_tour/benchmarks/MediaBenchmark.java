@@ -0,0 +1,47 @@
+package org.example.virtual_tour.benchmarks;
+
+import javafx.scene.media.Media;
+import org.example.virtual_tour.AssetManifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of opening each narration track, paid by NarrationPlayerPool for every player it creates
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {FxPlatform.GLASS, FxPlatform.MONOCLE, FxPlatform.PRISM})
+public class MediaBenchmark {
+    @Param({"mokorotlong", "royal_palace", "setsoto_stadium", "parliament"})
+    public String landmark;
+
+    private String url;
+
+    @Setup
+    public void setup() {
+        FxPlatform.start();
+        AssetManifest manifest = AssetManifest.load();
+        AssetManifest.LandmarkAssets assets = manifest.landmark(landmark);
+        if (assets == null || assets.audio() == null) {
+            throw new IllegalStateException("No narration for " + landmark);
+        }
+        url = manifest.url(assets.audio()).toString();
+    }
+
+    @Benchmark
+    public Media createMedia() {
+        return new Media(url);
+    }
+}
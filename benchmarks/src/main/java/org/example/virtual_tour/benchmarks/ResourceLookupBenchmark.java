@@ -0,0 +1,57 @@
+package org.example.virtual_tour.benchmarks;
+
+import org.example.virtual_tour.AssetManifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+// Class path lookups against the manifest's memoized URLs, plus the one-off cost of loading the manifest
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceLookupBenchmark {
+    @Param({"/images/parliament/main.jpg", "/audios/parliament.mp3", "/images/map/maseru_map.jpg"})
+    public String path;
+
+    private AssetManifest manifest;
+    private AssetManifest.Asset asset;
+
+    @Setup
+    public void setup() {
+        manifest = AssetManifest.load();
+        asset = manifest.asset(path);
+        if (asset == null) {
+            throw new IllegalStateException("Not in asset manifest: " + path);
+        }
+    }
+
+    @Benchmark
+    public URL getResource() {
+        return AssetManifest.class.getResource(path);
+    }
+
+    @Benchmark
+    public URL manifestUrl() {
+        return manifest.url(asset);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public AssetManifest loadManifest() {
+        return AssetManifest.load();
+    }
+}
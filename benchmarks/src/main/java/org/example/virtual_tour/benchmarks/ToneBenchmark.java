@@ -0,0 +1,74 @@
+package org.example.virtual_tour.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+// Synthesis of the quiz feedback tones: the original 8-bit loop that computed and wrote one sample at a
+// time, against FeedbackAudio's 16-bit render with edge ramps. Both loops are copied here so FeedbackAudio
+// keeps them private; keep them in step with its Tone values and render().
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToneBenchmark {
+    public enum Tone {
+        CORRECT(880, 200, 0.7),
+        WRONG(440, 400, 0.5);
+
+        private final int frequency;
+        private final int durationMs;
+        private final double volume;
+
+        Tone(int frequency, int durationMs, double volume) {
+            this.frequency = frequency;
+            this.durationMs = durationMs;
+            this.volume = volume;
+        }
+    }
+
+    private static final float SAMPLE_RATE = 44100f;
+    private static final int FADE_FRAMES = 88;
+
+    @Param
+    public Tone tone;
+
+    // Stands in for the SourceDataLine, which took one write call per sample
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(44100);
+
+    @Benchmark
+    public int perSampleWrite() {
+        sink.reset();
+        byte[] buf = new byte[1];
+        for (int i = 0; i < tone.durationMs * 44.1; i++) {
+            double angle = i / (44100.0 / tone.frequency) * 2.0 * Math.PI;
+            buf[0] = (byte) (Math.sin(angle) * 127.0 * tone.volume);
+            sink.write(buf, 0, 1);
+        }
+        return sink.size();
+    }
+
+    @Benchmark
+    public short[] render() {
+        int frames = (int) (tone.durationMs * SAMPLE_RATE / 1000);
+        short[] samples = new short[frames];
+        double step = 2.0 * Math.PI * tone.frequency / SAMPLE_RATE;
+        for (int i = 0; i < frames; i++) {
+            double envelope = Math.min(1.0, Math.min(i, frames - 1 - i) / (double) FADE_FRAMES);
+            samples[i] = (short) (Math.sin(i * step) * Short.MAX_VALUE * tone.volume * envelope);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.virtual_tour.soak;
+
+import java.util.Arrays;
+
+// Per-action latency samples, kept raw so exact percentiles can be reported at the end of a run
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+
+    public void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Nearest-rank percentile in milliseconds
+    public double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000_000.0;
+    }
+}
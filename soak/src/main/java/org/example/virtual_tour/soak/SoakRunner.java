@@ -0,0 +1,366 @@
+package org.example.virtual_tour.soak;
+
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.DialogPane;
+import javafx.scene.control.RadioButton;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import org.example.virtual_tour.HotspotLayer;
+import org.example.virtual_tour.TourCatalog;
+import org.example.virtual_tour.TourInterface;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+// Drives the real TourInterface on the headless Monocle platform through hotspot -> audio -> gallery ->
+// video -> quiz -> reset cycles, clicking and firing controls the way a visitor would. After a warm-up it
+// samples heap (after GC), live threads, open windows and open media players, fails if the trend fitted
+// through those samples grows past a tolerance, and prints latency percentiles per action (dispatch to the end of the next layout pass).
+// Usage: SoakRunner [--cycles N] [--warmup N] [--dwell ms]
+public class SoakRunner {
+    private static final long ACTION_TIMEOUT_MS = 30_000;
+    private static final long HEAP_TOLERANCE_BYTES = 16L * 1024 * 1024;
+    private static final int THREAD_TOLERANCE = 2;
+    private static final int PLAYER_TOLERANCE = 1;
+    private static final int SAMPLES = 20;
+
+    private final int cycles;
+    private final int warmup;
+    private final long dwellMillis;
+    private final Map<String, LatencyRecorder> latencies = new LinkedHashMap<>();
+
+    private TourInterface tour;
+    private Stage stage;
+    private Scene scene;
+    private int landmarkCount;
+    private int alertsDismissed;
+
+    public SoakRunner(int cycles, int warmup, long dwellMillis) {
+        this.cycles = cycles;
+        this.warmup = warmup;
+        this.dwellMillis = dwellMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cycles = 2000;
+        int warmup = 50;
+        long dwell = 100;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--cycles" -> cycles = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmup = Integer.parseInt(args[i + 1]);
+                case "--dwell" -> dwell = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        // Must be set before the toolkit starts; an explicit -D on the command line wins
+        setDefault("glass.platform", "Monocle");
+        setDefault("monocle.platform", "Headless");
+        setDefault("prism.order", "sw");
+        Platform.startup(() -> { });
+        Platform.setImplicitExit(false);
+
+        boolean passed;
+        try {
+            passed = new SoakRunner(cycles, warmup, dwell).run();
+        } catch (Exception e) {
+            // The FX thread keeps the JVM alive, so a run that cannot continue has to exit explicitly
+            System.out.println("ABORTED: " + rootCause(e));
+            e.printStackTrace();
+            System.exit(2);
+            return;
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static String rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UnsatisfiedLinkError) {
+            // On Linux JavaFX lays out text through Pango; without libpangoft2 no control can be measured
+            return cause.getMessage() + " (is Pango installed on this host?)";
+        }
+        return cause.toString();
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    public boolean run() throws Exception {
+        onFx(() -> {
+            TourCatalog.City city = TourCatalog.load().city(System.getProperty("tour.city"));
+            if (city == null) {
+                throw new IllegalStateException("No tours in catalog");
+            }
+            landmarkCount = city.landmarks().size();
+            tour = new TourInterface(city);
+            stage = new Stage();
+            scene = new Scene(tour.createInterface(stage), 1280, 800);
+            stage.setScene(scene);
+            stage.show();
+            return null;
+        });
+        if (landmarkCount == 0) {
+            throw new IllegalStateException("Catalog city has no landmarks");
+        }
+
+        for (int i = 0; i < warmup; i++) {
+            cycle(i);
+        }
+        Sample baseline = sample(warmup);
+        List<Sample> samples = new ArrayList<>();
+        samples.add(baseline);
+        System.out.println(Sample.HEADER);
+        System.out.println(baseline);
+
+        int sampleEvery = Math.max(1, cycles / SAMPLES);
+        for (int i = 0; i < cycles; i++) {
+            cycle(warmup + i);
+            if ((i + 1) % sampleEvery == 0 || i + 1 == cycles) {
+                Sample sample = sample(warmup + i + 1);
+                samples.add(sample);
+                System.out.println(sample);
+            }
+        }
+
+        printLatencies();
+        if (alertsDismissed > 0) {
+            System.out.println("Error dialogs dismissed: " + alertsDismissed);
+        }
+        return check(samples);
+    }
+
+    private void cycle(int n) throws Exception {
+        int landmark = n % landmarkCount;
+
+        perform("hotspot", () -> clickHotspot(landmark));
+        perform("audio", () -> fire(".play-audio-button"));
+        dwell();
+        perform("audio-stop", () -> fire(".play-audio-button"));
+
+        perform("gallery", () -> fire(".view-images-button"));
+        dwell();
+        perform("gallery-close", this::closeSecondaryWindows);
+
+        perform("video", () -> fire(".play-video-button"));
+        dwell();
+        // Without a playable video the tour falls through to the quiz on its own
+        perform("quiz", () -> {
+            Node endVideo = scene.getRoot().lookup(".end-video-button");
+            if (endVideo != null && endVideo.isVisible()) {
+                ((Button) endVideo).fire();
+            } else if (!isVisible(".quiz-box")) {
+                fire(".quiz-button");
+            }
+        });
+        perform("quiz-answer", () -> {
+            Node option = scene.getRoot().lookup(".quiz-option");
+            if (option instanceof RadioButton radio) {
+                radio.setSelected(true);
+                fire(".submit-button");
+            }
+        });
+
+        perform("reset", () -> fire(".back-button"));
+    }
+
+    private void clickHotspot(int index) {
+        HotspotLayer layer = (HotspotLayer) scene.getRoot().lookup(".hotspot-layer");
+        Point2D point = layer.localToScene(layer.getHotspotCenter(index));
+        Point2D screen = layer.localToScreen(layer.getHotspotCenter(index));
+        Event.fireEvent(layer, new MouseEvent(MouseEvent.MOUSE_CLICKED, point.getX(), point.getY(),
+                screen.getX(), screen.getY(), MouseButton.PRIMARY, 1,
+                false, false, false, false, false, false, false,
+                true, false, true, null));
+    }
+
+    private void fire(String selector) {
+        Node node = scene.getRoot().lookup(selector);
+        if (!(node instanceof Button button)) {
+            throw new IllegalStateException("No button for " + selector);
+        }
+        button.fire();
+    }
+
+    private boolean isVisible(String selector) {
+        Node node = scene.getRoot().lookup(selector);
+        return node != null && node.isVisible();
+    }
+
+    private void closeSecondaryWindows() {
+        for (Window window : new ArrayList<>(Window.getWindows())) {
+            if (window != stage) {
+                window.hide();
+            }
+        }
+    }
+
+    // Error alerts block in showAndWait; close them so the cycle can continue
+    private void dismissAlerts() {
+        for (Window window : new ArrayList<>(Window.getWindows())) {
+            if (window.getScene() != null && window.getScene().getRoot() instanceof DialogPane) {
+                window.hide();
+                alertsDismissed++;
+            }
+        }
+    }
+
+    private void perform(String action, Runnable body) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        RuntimeException[] failure = new RuntimeException[1];
+        long start = System.nanoTime();
+        Platform.runLater(() -> {
+            try {
+                body.run();
+            } catch (RuntimeException e) {
+                failure[0] = e;
+            }
+            Runnable[] listener = new Runnable[1];
+            listener[0] = () -> {
+                scene.removePostLayoutPulseListener(listener[0]);
+                done.countDown();
+            };
+            scene.addPostLayoutPulseListener(listener[0]);
+            Platform.requestNextPulse();
+        });
+        while (!done.await(50, TimeUnit.MILLISECONDS)) {
+            if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(ACTION_TIMEOUT_MS)) {
+                throw new IllegalStateException("Action timed out: " + action);
+            }
+            Platform.runLater(this::dismissAlerts);
+        }
+        if (failure[0] != null) {
+            throw new IllegalStateException("Action failed: " + action, failure[0]);
+        }
+        latencies.computeIfAbsent(action, k -> new LatencyRecorder()).record(System.nanoTime() - start);
+    }
+
+    private void dwell() throws InterruptedException {
+        if (dwellMillis > 0) {
+            Thread.sleep(dwellMillis);
+        }
+    }
+
+    private Sample sample(int cycle) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long heap = runtime.totalMemory() - runtime.freeMemory();
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        int windows = onFx(() -> Window.getWindows().size());
+        int players = onFx(tour::getLiveMediaPlayerCount);
+        return new Sample(cycle, heap, threads, windows, players);
+    }
+
+    // Fits a line through every post-warm-up sample so one noisy reading at either end neither hides nor
+    // fakes a leak, and fails when the fitted growth over the run exceeds the tolerance
+    private boolean check(List<Sample> samples) {
+        Sample baseline = samples.get(0);
+        Sample last = samples.get(samples.size() - 1);
+        List<String> failures = new ArrayList<>();
+        double heapGrowth = growth(samples, Sample::heap);
+        long heapTolerance = Math.max(HEAP_TOLERANCE_BYTES, baseline.heap() / 10);
+        if (heapGrowth > heapTolerance) {
+            failures.add("heap trends up " + mb((long) heapGrowth) + " over the run (from " + mb(baseline.heap())
+                    + " to " + mb(last.heap()) + ", tolerance " + mb(heapTolerance) + ")");
+        }
+        double threadGrowth = growth(samples, Sample::threads);
+        if (threadGrowth > THREAD_TOLERANCE) {
+            failures.add(String.format("threads trend up %.1f over the run (from %d to %d)",
+                    threadGrowth, baseline.threads(), last.threads()));
+        }
+        if (last.windows() > 1) {
+            failures.add(last.windows() + " windows still open after reset");
+        }
+        double playerGrowth = growth(samples, Sample::players);
+        if (playerGrowth > PLAYER_TOLERANCE || last.players() > baseline.players()) {
+            failures.add(String.format("media players trend up %.1f over the run (from %d to %d)",
+                    playerGrowth, baseline.players(), last.players()));
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("PASSED: " + cycles + " cycles with flat heap, threads, windows and media players");
+            return true;
+        }
+        failures.forEach(failure -> System.out.println("FAILED: " + failure));
+        return false;
+    }
+
+    // Least-squares slope per cycle, times the cycles the samples span
+    private static double growth(List<Sample> samples, ToDoubleFunction<Sample> value) {
+        int n = samples.size();
+        if (n < 2) return 0;
+        double meanCycle = 0;
+        double meanValue = 0;
+        for (Sample sample : samples) {
+            meanCycle += sample.cycle();
+            meanValue += value.applyAsDouble(sample);
+        }
+        meanCycle /= n;
+        meanValue /= n;
+        double covariance = 0;
+        double variance = 0;
+        for (Sample sample : samples) {
+            double dx = sample.cycle() - meanCycle;
+            covariance += dx * (value.applyAsDouble(sample) - meanValue);
+            variance += dx * dx;
+        }
+        if (variance == 0) return 0;
+        return covariance / variance * (samples.get(n - 1).cycle() - samples.get(0).cycle());
+    }
+
+    private void printLatencies() {
+        System.out.printf("%n%-14s %8s %9s %9s %9s %9s%n", "action", "count", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        latencies.forEach((action, recorder) -> System.out.printf("%-14s %8d %9.2f %9.2f %9.2f %9.2f%n",
+                action, recorder.count(), recorder.percentileMillis(50), recorder.percentileMillis(90),
+                recorder.percentileMillis(99), recorder.percentileMillis(100)));
+    }
+
+    private static <T> T onFx(Callable<T> task) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result.get(ACTION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static String mb(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private record Sample(int cycle, long heap, int threads, int windows, int players) {
+        static final String HEADER = String.format("%8s %10s %8s %8s %8s", "cycle", "heap MB", "threads", "windows", "players");
+
+        @Override
+        public String toString() {
+            return String.format("%8d %10.1f %8d %8d %8d", cycle, heap / (1024.0 * 1024.0), threads, windows, players);
+        }
+    }
+}
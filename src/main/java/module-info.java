@@ -1,16 +1,9 @@
 module org.example.virtual_tour {
     requires javafx.controls;
-    requires javafx.fxml;
-    requires javafx.web;
-
-    requires org.controlsfx.controls;
-    requires org.kordamp.ikonli.javafx;
-    requires org.kordamp.bootstrapfx.core;
-    requires eu.hansolo.tilesfx;
-    requires com.almasb.fxgl.all;
     requires javafx.media;
     requires java.desktop;
+    requires java.management;
+    requires com.fasterxml.jackson.core;
 
-    opens org.example.virtual_tour to javafx.fxml;
     exports org.example.virtual_tour;
-}
\ No newline at end of file
+}
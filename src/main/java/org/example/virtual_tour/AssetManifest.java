@@ -0,0 +1,136 @@
+package org.example.virtual_tour;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Index of the packaged assets, generated at build time by AssetManifestGenerator and read once at startup
+public class AssetManifest {
+    public static final String RESOURCE = "/asset-manifest.properties";
+
+    public record Asset(String path, String format, long bytes, int width, int height, List<Asset> variants) {
+    }
+
+    public record LandmarkAssets(String slug, Asset mainImage, List<Asset> gallery, Asset audio, Asset video) {
+    }
+
+    private final Map<String, Asset> assets = new HashMap<>();
+    private final Map<String, LandmarkAssets> landmarks = new HashMap<>();
+    private final Map<String, Asset> shared = new HashMap<>();
+    private final Map<String, URL> urls = new ConcurrentHashMap<>();
+
+    public static AssetManifest load() {
+        Properties properties = new Properties();
+        try (InputStream in = AssetManifest.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            } else {
+                System.err.println("Asset manifest not found: " + RESOURCE);
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading asset manifest: " + e.getMessage());
+        }
+        return new AssetManifest(properties);
+    }
+
+    AssetManifest(Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("asset.")) {
+                String path = key.substring("asset.".length());
+                assets.put(path, parseAsset(path, properties.getProperty(key)));
+            }
+        }
+
+        // Variants are attached after every asset exists, smallest first
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("variants.")) {
+                Asset original = assets.get(key.substring("variants.".length()));
+                if (original == null) continue;
+                List<Asset> variants = assetList(properties.getProperty(key));
+                variants.sort((a, b) -> Integer.compare(a.width(), b.width()));
+                original.variants().addAll(variants);
+            }
+        }
+
+        for (String slug : properties.getProperty("landmarks", "").split(",")) {
+            if (slug.isEmpty()) continue;
+            String prefix = "landmark." + slug + ".";
+            landmarks.put(slug, new LandmarkAssets(slug,
+                    assets.get(properties.getProperty(prefix + "main")),
+                    Collections.unmodifiableList(assetList(properties.getProperty(prefix + "gallery", ""))),
+                    assets.get(properties.getProperty(prefix + "audio")),
+                    assets.get(properties.getProperty(prefix + "video"))));
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("shared.")) {
+                shared.put(key.substring("shared.".length()), assets.get(properties.getProperty(key)));
+            }
+        }
+    }
+
+    private Asset parseAsset(String path, String value) {
+        // format,bytes[,widthxheight]
+        String[] parts = value.split(",");
+        int width = 0;
+        int height = 0;
+        if (parts.length > 2) {
+            String[] size = parts[2].split("x");
+            width = Integer.parseInt(size[0]);
+            height = Integer.parseInt(size[1]);
+        }
+        return new Asset(path, parts[0], Long.parseLong(parts[1]), width, height, new ArrayList<>());
+    }
+
+    private List<Asset> assetList(String value) {
+        List<Asset> list = new ArrayList<>();
+        for (String path : value.split(",")) {
+            Asset asset = assets.get(path);
+            if (asset != null) {
+                list.add(asset);
+            }
+        }
+        return list;
+    }
+
+    public LandmarkAssets landmark(String slug) {
+        return landmarks.get(slug);
+    }
+
+    public Asset asset(String path) {
+        return assets.get(path);
+    }
+
+    // Shared asset of a kind ("audio", "video") by file name without extension, e.g. ("video", "maseru_video")
+    public Asset shared(String kind, String name) {
+        return shared.get(kind + "." + name);
+    }
+
+    public URL url(Asset asset) {
+        return asset == null ? null : urls.computeIfAbsent(asset.path(), AssetManifest::resolve);
+    }
+
+    // Packed assets are served from the mapped asset pack, everything else from the classpath
+    private static URL resolve(String path) {
+        URL packed = AssetPack.get().url(path);
+        return packed != null ? packed : AssetManifest.class.getResource(path);
+    }
+
+    // Smallest pre-scaled variant at least as wide as the target, otherwise the original
+    public URL imageUrl(Asset image, double targetWidth) {
+        if (image == null) return null;
+        for (Asset variant : image.variants()) {
+            if (variant.width() >= targetWidth) {
+                return url(variant);
+            }
+        }
+        return url(image);
+    }
+}
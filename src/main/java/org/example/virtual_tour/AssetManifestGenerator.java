@@ -0,0 +1,159 @@
+package org.example.virtual_tour;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Build step (process-classes, after ImageVariantGenerator): indexes the packaged assets into
+// the manifest read by AssetManifest.
+// Usage: AssetManifestGenerator <classes dir> <manifest file>
+public class AssetManifestGenerator {
+    static final Set<String> IMAGE_FORMATS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    static final Set<String> AUDIO_FORMATS = Set.of("mp3", "m4a", "aac", "wav", "aif", "aiff");
+    static final Set<String> VIDEO_FORMATS = Set.of("mp4", "m4v", "flv");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: AssetManifestGenerator <classes dir> <manifest file>");
+        }
+        File root = new File(args[0]);
+        Properties manifest = new Properties();
+
+        Set<String> landmarks = new TreeSet<>();
+        File[] imageDirs = new File(root, "images").listFiles(File::isDirectory);
+        if (imageDirs != null) {
+            for (File dir : imageDirs) {
+                if (addImages(root, dir, manifest)) {
+                    landmarks.add(dir.getName());
+                }
+            }
+        }
+        addMedia(root, "audios", AUDIO_FORMATS, "audio", landmarks, manifest);
+        addMedia(root, "videos", VIDEO_FORMATS, "video", landmarks, manifest);
+        manifest.setProperty("landmarks", String.join(",", landmarks));
+
+        File output = new File(args[1]);
+        try (OutputStream out = new FileOutputStream(output)) {
+            manifest.store(out, "Generated by AssetManifestGenerator - do not edit");
+        }
+        System.out.println("Asset manifest written: " + landmarks.size() + " landmarks");
+    }
+
+    private static boolean addImages(File root, File dir, Properties manifest) throws IOException {
+        File[] files = dir.listFiles(f -> f.isFile() && IMAGE_FORMATS.contains(extension(f.getName())));
+        if (files == null || files.length == 0) return false;
+
+        // Numbered images in numeric order, so 10.jpg follows 9.jpg
+        Arrays.sort(files, Comparator.comparingInt((File f) -> number(stem(f.getName())))
+                .thenComparing(File::getName));
+
+        List<String> gallery = new ArrayList<>();
+        String main = null;
+        for (File file : files) {
+            String path = resourcePath(root, file);
+            addImage(root, file, path, manifest);
+            if (stem(file.getName()).equals("main")) {
+                main = path;
+            } else {
+                gallery.add(path);
+            }
+        }
+
+        // Only directories with a main image are landmarks; the rest (e.g. the map) are plain assets
+        if (main == null) return false;
+        String prefix = "landmark." + dir.getName() + ".";
+        manifest.setProperty(prefix + "main", main);
+        manifest.setProperty(prefix + "gallery", String.join(",", gallery));
+        return true;
+    }
+
+    private static void addImage(File root, File file, String path, Properties manifest) throws IOException {
+        manifest.setProperty("asset." + path, describe(file));
+
+        List<String> variants = new ArrayList<>();
+        File variantDir = new File(file.getParentFile(), ImageVariant.DIRECTORY);
+        for (ImageVariant variant : ImageVariant.values()) {
+            File variantFile = new File(variantDir, variant.fileName(file.getName()));
+            if (variantFile.isFile()) {
+                String variantPath = resourcePath(root, variantFile);
+                manifest.setProperty("asset." + variantPath, describe(variantFile));
+                variants.add(variantPath);
+            }
+        }
+        if (!variants.isEmpty()) {
+            manifest.setProperty("variants." + path, String.join(",", variants));
+        }
+    }
+
+    private static void addMedia(File root, String dirName, Set<String> formats, String key,
+                                 Set<String> landmarks, Properties manifest) {
+        File[] files = new File(root, dirName).listFiles(f -> f.isFile() && formats.contains(extension(f.getName())));
+        if (files == null) return;
+        Arrays.sort(files);
+        for (File file : files) {
+            String path = resourcePath(root, file);
+            String format = extension(file.getName());
+            manifest.setProperty("asset." + path, format + "," + file.length());
+            // A file named after a landmark belongs to it; anything else is a shared asset under its own name,
+            // so several shared files of one kind (e.g. one tour video per city) never replace each other
+            String name = stem(file.getName());
+            if (landmarks.contains(name)) {
+                manifest.setProperty("landmark." + name + "." + key, path);
+            } else {
+                manifest.setProperty("shared." + key + "." + name, path);
+            }
+        }
+    }
+
+    // format,bytes,widthxheight
+    private static String describe(File file) throws IOException {
+        String format = extension(file.getName());
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return format + "," + file.length() + ",0x0";
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return format + "," + file.length() + "," + reader.getWidth(0) + "x" + reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String resourcePath(File root, File file) {
+        return "/" + root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+    }
+
+    private static String stem(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase();
+    }
+
+    private static int number(String stem) {
+        try {
+            return Integer.parseInt(stem);
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
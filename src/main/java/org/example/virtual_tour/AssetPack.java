@@ -0,0 +1,225 @@
+package org.example.virtual_tour;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// Read side of the packed asset file written by AssetPackBuilder. The whole file is mapped once and
+// every entry is served as a read-only slice of that mapping, so loads involve no class loader lookup
+// and no copy into an intermediate buffer. Entries are exposed as "tourpack:" URLs whose streams read
+// the slice directly; ImageLoader decodes those itself because Image(String) cannot resolve them.
+// Layout: magic, version, entry count, then per entry (path, offset, length), then the data.
+public class AssetPack {
+    public static final String FILE_NAME = "assets.pack";
+    public static final String PROTOCOL = "tourpack";
+    static final int MAGIC = 0x54504B31; // "TPK1"
+    static final int VERSION = 1;
+
+    private static final AssetPack EMPTY = new AssetPack(null, Collections.emptyMap(), 0);
+
+    private final ByteBuffer data;
+    private final Map<String, Entry> entries;
+    private final long modified;
+    private final Handler handler = new Handler();
+
+    private record Entry(int offset, int length) {
+    }
+
+    private AssetPack(ByteBuffer data, Map<String, Entry> entries, long modified) {
+        this.data = data;
+        this.entries = entries;
+        this.modified = modified;
+    }
+
+    private static class Holder {
+        static final AssetPack INSTANCE = open();
+    }
+
+    // Process-wide pack; empty when none was found, in which case callers use classpath resources
+    public static AssetPack get() {
+        return Holder.INSTANCE;
+    }
+
+    // -Dtour.assets.pack=<file>, then the copy in a linked runtime's lib directory, then the one in an
+    // exploded classes directory. A pack inside a jar cannot be mapped and is ignored.
+    private static AssetPack open() {
+        Path file = locate();
+        if (file == null) return EMPTY;
+        try {
+            return read(file);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error opening asset pack " + file + ": " + e.getMessage());
+            return EMPTY;
+        }
+    }
+
+    private static Path locate() {
+        String configured = System.getProperty("tour.assets.pack");
+        if (configured != null) return Path.of(configured);
+
+        Path linked = Path.of(System.getProperty("java.home"), "lib", FILE_NAME);
+        if (Files.isRegularFile(linked)) return linked;
+
+        URL resource = AssetPack.class.getResource("/" + FILE_NAME);
+        if (resource != null && "file".equals(resource.getProtocol())) {
+            try {
+                return Path.of(resource.toURI());
+            } catch (URISyntaxException e) {
+                System.err.println("Error locating asset pack: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    static AssetPack read(Path file) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.getInt() != MAGIC) {
+            throw new IOException("Not an asset pack");
+        }
+        int version = data.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported asset pack version " + version);
+        }
+        int count = data.getInt();
+        Map<String, Entry> entries = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            byte[] path = new byte[data.getShort() & 0xFFFF];
+            data.get(path);
+            entries.put(new String(path, StandardCharsets.UTF_8), new Entry(data.getInt(), data.getInt()));
+        }
+        return new AssetPack(data, entries, Files.getLastModifiedTime(file).toMillis());
+    }
+
+    public boolean contains(String path) {
+        return entries.containsKey(path);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Read-only view of the entry's bytes, or null when the pack does not hold it
+    public ByteBuffer slice(String path) {
+        Entry entry = entries.get(path);
+        return entry == null ? null : data.slice(entry.offset(), entry.length()).asReadOnlyBuffer();
+    }
+
+    public InputStream open(String path) {
+        ByteBuffer slice = slice(path);
+        return slice == null ? null : new BufferInputStream(slice);
+    }
+
+    // Pack URL for the entry, or null when the pack does not hold it
+    public URL url(String path) {
+        if (!contains(path)) return null;
+        try {
+            return URL.of(new URI(PROTOCOL, null, path, null), handler);
+        } catch (URISyntaxException | IOException e) {
+            System.err.println("Error creating asset pack URL for " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static boolean isPackUrl(URL url) {
+        return PROTOCOL.equals(url.getProtocol());
+    }
+
+    private class Handler extends URLStreamHandler {
+        @Override
+        protected URLConnection openConnection(URL url) throws IOException {
+            ByteBuffer slice = slice(url.getPath());
+            if (slice == null) {
+                throw new IOException("Not in asset pack: " + url.getPath());
+            }
+            return new URLConnection(url) {
+                @Override
+                public void connect() {
+                    connected = true;
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    return slice.remaining();
+                }
+
+                // Entries change only with the pack, so its timestamp stands in for theirs
+                @Override
+                public long getLastModified() {
+                    return modified;
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    return new BufferInputStream(slice.duplicate());
+                }
+            };
+        }
+    }
+
+    // Streams straight out of the mapped buffer
+    private static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private int mark;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            mark = buffer.position();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.position(mark);
+        }
+    }
+}
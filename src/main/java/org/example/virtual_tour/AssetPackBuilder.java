@@ -0,0 +1,76 @@
+package org.example.virtual_tour;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Build step (process-classes, after MapTileGenerator): packs every image, image variant and map tile
+// under the classes directory into one file read by AssetPack. Audio and video stay plain resources
+// because JavaFX Media can only open file, jar and http URLs.
+// Usage: AssetPackBuilder <classes dir> <pack file>
+public class AssetPackBuilder {
+    private static final List<String> DIRECTORIES = List.of("images", "tiles");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: AssetPackBuilder <classes dir> <pack file>");
+        }
+        File root = new File(args[0]);
+        List<File> files = new ArrayList<>();
+        for (String directory : DIRECTORIES) {
+            collect(new File(root, directory), files);
+        }
+
+        List<byte[]> paths = new ArrayList<>();
+        int indexSize = 12;
+        for (File file : files) {
+            byte[] path = ("/" + root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'))
+                    .getBytes(StandardCharsets.UTF_8);
+            paths.add(path);
+            indexSize += 2 + path.length + 8;
+        }
+
+        File output = new File(args[1]);
+        long offset = indexSize;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(AssetPack.MAGIC);
+            out.writeInt(AssetPack.VERSION);
+            out.writeInt(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                long length = files.get(i).length();
+                if (offset + length > Integer.MAX_VALUE) {
+                    throw new IOException("Asset pack exceeds 2 GB at " + files.get(i));
+                }
+                out.writeShort(paths.get(i).length);
+                out.write(paths.get(i));
+                out.writeInt((int) offset);
+                out.writeInt((int) length);
+                offset += length;
+            }
+            for (File file : files) {
+                Files.copy(file.toPath(), out);
+            }
+        }
+        System.out.println("Asset pack written: " + files.size() + " entries, " + offset / 1024 + " KB");
+    }
+
+    private static void collect(File dir, List<File> files) {
+        File[] children = dir.listFiles();
+        if (children == null) return;
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collect(child, files);
+            } else if (AssetManifestGenerator.IMAGE_FORMATS.contains(AssetManifestGenerator.extension(child.getName()))) {
+                files.add(child);
+            }
+        }
+    }
+}
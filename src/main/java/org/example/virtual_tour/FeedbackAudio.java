@@ -0,0 +1,140 @@
+package org.example.virtual_tour;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.awt.Toolkit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Quiz feedback tones through one long-lived line and mixer thread. Tones are rendered to PCM once,
+// written in small blocks, and overlapping tones are summed.
+public class FeedbackAudio {
+    public enum Tone {
+        CORRECT(880, 200, 0.7),
+        WRONG(440, 400, 0.5);
+
+        private final int frequency;   // Hz
+        private final int durationMs;
+        private final double volume;  // 0.1 to 0.9
+
+        Tone(int frequency, int durationMs, double volume) {
+            this.frequency = frequency;
+            this.durationMs = durationMs;
+            this.volume = volume;
+        }
+    }
+
+    private static final float SAMPLE_RATE = 44100f;
+    private static final int BLOCK_FRAMES = 256;            // ~5.8 ms per write
+    private static final int LINE_BUFFER_BLOCKS = 3;        // keeps queued audio under 20 ms
+    private static final int FADE_FRAMES = 88;              // 2 ms ramps avoid clicks at the edges
+
+    private final Map<Tone, short[]> rendered = new EnumMap<>(Tone.class);
+    private final LinkedBlockingQueue<short[]> requests = new LinkedBlockingQueue<>();
+    private Thread mixer;
+    private volatile boolean running;
+    private volatile boolean lineUnavailable;
+
+    public FeedbackAudio() {
+        for (Tone tone : Tone.values()) {
+            rendered.put(tone, render(tone));
+        }
+    }
+
+    public synchronized void play(Tone tone) {
+        if (lineUnavailable) {
+            Toolkit.getDefaultToolkit().beep();
+            return;
+        }
+        if (mixer == null) {
+            running = true;
+            mixer = new Thread(this::mix, "feedback-audio");
+            mixer.setDaemon(true);
+            mixer.start();
+        }
+        requests.add(rendered.get(tone));
+    }
+
+    public synchronized void shutdown() {
+        running = false;
+        if (mixer != null) {
+            mixer.interrupt();
+            mixer = null;
+        }
+    }
+
+    // 16-bit mono PCM at SAMPLE_RATE
+    private static short[] render(Tone tone) {
+        int frames = (int) (tone.durationMs * SAMPLE_RATE / 1000);
+        short[] samples = new short[frames];
+        double step = 2.0 * Math.PI * tone.frequency / SAMPLE_RATE;
+        for (int i = 0; i < frames; i++) {
+            double envelope = Math.min(1.0, Math.min(i, frames - 1 - i) / (double) FADE_FRAMES);
+            samples[i] = (short) (Math.sin(i * step) * Short.MAX_VALUE * tone.volume * envelope);
+        }
+        return samples;
+    }
+
+    private void mix() {
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        byte[] block = new byte[BLOCK_FRAMES * 2];
+        int[] sum = new int[BLOCK_FRAMES];
+        List<Voice> voices = new ArrayList<>();
+
+        try (SourceDataLine line = AudioSystem.getSourceDataLine(format)) {
+            line.open(format, block.length * LINE_BUFFER_BLOCKS);
+            line.start();
+
+            while (running) {
+                // Block while idle; the line simply runs dry between tones
+                if (voices.isEmpty()) {
+                    voices.add(new Voice(requests.take()));
+                }
+                short[] next;
+                while ((next = requests.poll()) != null) {
+                    voices.add(new Voice(next));
+                }
+
+                Arrays.fill(sum, 0);
+                for (int v = voices.size() - 1; v >= 0; v--) {
+                    Voice voice = voices.get(v);
+                    int count = Math.min(BLOCK_FRAMES, voice.samples.length - voice.position);
+                    for (int i = 0; i < count; i++) {
+                        sum[i] += voice.samples[voice.position + i];
+                    }
+                    voice.position += count;
+                    if (voice.position >= voice.samples.length) {
+                        voices.remove(v);
+                    }
+                }
+
+                for (int i = 0; i < BLOCK_FRAMES; i++) {
+                    int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum[i]));
+                    block[i * 2] = (byte) sample;
+                    block[i * 2 + 1] = (byte) (sample >> 8);
+                }
+                line.write(block, 0, block.length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Feedback audio unavailable: " + e.getMessage());
+            lineUnavailable = true;
+            Toolkit.getDefaultToolkit().beep(); // Fallback
+        }
+    }
+
+    private static final class Voice {
+        private final short[] samples;
+        private int position;
+
+        private Voice(short[] samples) {
+            this.samples = samples;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.virtual_tour;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.TimeUnit;
+
+// Detects stalls of the JavaFX Application Thread. A background thread keeps one heartbeat queued with
+// Platform.runLater; when it has not run within the threshold, the FX thread's stack is logged together
+// with the tour action in progress, and the stall's full length is logged and recorded once it clears.
+// A heartbeat is used rather than pulses because an idle scene legitimately goes without pulses.
+public class FxWatchdog {
+    private static final int MAX_FRAMES = 40;
+
+    private final long thresholdNanos;
+    private final long checkMillis;
+    private final TourMetrics metrics;
+    private volatile Thread fxThread;
+    private volatile long beatPostedAt;
+    private volatile boolean stallReported;
+    private volatile TourMetrics.Action stalledAction;
+    private volatile boolean running;
+    private Thread watcher;
+
+    public FxWatchdog(long thresholdMillis, TourMetrics metrics) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.checkMillis = Math.max(10, thresholdMillis / 4);
+        this.metrics = metrics;
+    }
+
+    public synchronized void start() {
+        if (watcher != null) return;
+        running = true;
+        watcher = new Thread(this::watch, "fx-watchdog");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized void shutdown() {
+        running = false;
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (running) {
+                Thread.sleep(checkMillis);
+                long posted = beatPostedAt;
+                if (posted == 0) {
+                    beatPostedAt = System.nanoTime();
+                    Platform.runLater(this::beat);
+                } else if (!stallReported && System.nanoTime() - posted > thresholdNanos) {
+                    stallReported = true;
+                    report(System.nanoTime() - posted);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void beat() {
+        fxThread = Thread.currentThread();
+        if (stallReported) {
+            long stalled = System.nanoTime() - beatPostedAt;
+            metrics.stallEnded(stalled);
+            System.err.println("FX thread stall cleared after " + TimeUnit.NANOSECONDS.toMillis(stalled)
+                    + " ms" + describe(stalledAction));
+            stallReported = false;
+        }
+        beatPostedAt = 0;
+    }
+
+    private void report(long stalledNanos) {
+        stalledAction = metrics.getCurrentAction();
+        StringBuilder message = new StringBuilder("FX thread stalled for ")
+                .append(TimeUnit.NANOSECONDS.toMillis(stalledNanos)).append(" ms")
+                .append(describe(stalledAction));
+        Thread thread = fxThread;
+        if (thread != null) {
+            StackTraceElement[] stack = thread.getStackTrace();
+            for (int i = 0; i < Math.min(stack.length, MAX_FRAMES); i++) {
+                message.append(System.lineSeparator()).append("\tat ").append(stack[i]);
+            }
+            if (stack.length > MAX_FRAMES) {
+                message.append(System.lineSeparator()).append("\t... ").append(stack.length - MAX_FRAMES).append(" more");
+            }
+        }
+        System.err.println(message);
+    }
+
+    private static String describe(TourMetrics.Action action) {
+        return action == null ? "" : " during " + action.getLabel();
+    }
+}
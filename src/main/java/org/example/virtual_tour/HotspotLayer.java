@@ -0,0 +1,255 @@
+package org.example.virtual_tour;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+// Draws every hotspot (circle, icon and name) onto a single Canvas laid over the map. Landmark anchors
+// live in a SpatialGrid in normalized map coordinates and reach the screen through one map-to-screen
+// transform, so a resize, zoom or rotation is a single transform update followed by one repaint. Markers
+// keep a fixed screen size, so hit-tests and repaints convert the screen region back into map space
+// padded by the marker extent. Only hotspots inside the changed region are redrawn, so neither the scene
+// graph nor the cost of a hover grows with the number of landmarks.
+public class HotspotLayer extends Canvas {
+    private static final double RADIUS = 10;
+    private static final double LABEL_OFFSET_X = 20;
+    private static final double LABEL_HEIGHT = 20;
+    private static final double ICON_SIZE = 20;
+    private static final double ICON_GAP = 5;
+    private static final double LABEL_PADDING = 3;
+    private static final double CELL_SIZE = 0.1; // of the map's width and height
+    private static final double HALF_HEIGHT = Math.max(RADIUS, LABEL_HEIGHT / 2);
+
+    private static final Color LABEL_COLOR = Color.web("#3498db");
+    private static final Color LABEL_HOVER_BACKGROUND = Color.rgb(0, 0, 0, 0.1);
+    private static final Color SELECTED_COLOR = Color.GREEN;
+    private static final double IDLE_OPACITY = 0.7;
+
+    private final List<TourCatalog.Landmark> landmarks;
+    private final Color[] colors;
+    private final Image[] icons;
+    private final double[] labelWidths;
+    private final SpatialGrid grid = new SpatialGrid(CELL_SIZE);
+    private final Font labelFont;
+    private double maxRight;
+
+    private Transform mapToScreen = Transform.scale(1, 1);
+    private boolean viewportSet;
+    private int hovered = -1;
+    private int selected = -1;
+    private long revision;
+    private IntConsumer onSelect = index -> { };
+    private IntConsumer onHover = index -> { };
+    private int[] visible = new int[32];
+    private int visibleCount;
+
+    public HotspotLayer(List<TourCatalog.Landmark> landmarks, Color[] colors) {
+        this.landmarks = landmarks;
+        this.colors = colors;
+        this.icons = new Image[landmarks.size()];
+        this.labelWidths = new double[landmarks.size()];
+
+        Font base = Font.getDefault();
+        labelFont = Font.font(base.getFamily(), FontWeight.BOLD, base.getSize());
+        Text measure = new Text();
+        measure.setFont(labelFont);
+
+        for (TourCatalog.Landmark landmark : landmarks) {
+            int i = landmark.index();
+            measure.setText(landmark.name());
+            labelWidths[i] = ICON_SIZE + ICON_GAP + measure.getLayoutBounds().getWidth() + LABEL_PADDING * 2;
+            maxRight = Math.max(maxRight, LABEL_OFFSET_X + labelWidths[i]);
+            grid.add(i, landmark.x(), landmark.y(), 0, 0);
+        }
+
+        getStyleClass().add("hotspot-layer");
+        setOnMouseMoved(e -> setHovered(hit(e.getX(), e.getY())));
+        // Touch screens deliver no moves before the press, so a touch-down counts as hovering
+        setOnMousePressed(e -> setHovered(hit(e.getX(), e.getY())));
+        setOnMouseExited(e -> setHovered(-1));
+        setOnMouseClicked(e -> {
+            // A click that ends a pan is not a selection
+            if (!e.isStillSincePress()) return;
+            int index = hit(e.getX(), e.getY());
+            if (index >= 0) {
+                onSelect.accept(index);
+            }
+        });
+    }
+
+    // Centre of a hotspot's marker in this layer's coordinates
+    public Point2D getHotspotCenter(int index) {
+        return new Point2D(screenX(index), screenY(index));
+    }
+
+    public void setOnSelect(IntConsumer onSelect) {
+        this.onSelect = onSelect;
+    }
+
+    // Receives the hotspot under the pointer whenever it changes, -1 when there is none
+    public void setOnHover(IntConsumer onHover) {
+        this.onHover = onHover;
+    }
+
+    // Maps normalized map coordinates (0..1) to this layer's coordinates
+    public void setViewport(Transform mapToScreen) {
+        this.mapToScreen = mapToScreen;
+        viewportSet = true;
+        revision++;
+        redraw(0, 0, getWidth(), getHeight());
+    }
+
+    public void setIcon(int index, Image icon) {
+        icons[index] = icon;
+        revision++;
+        redrawHotspot(index);
+    }
+
+    public void setSelected(int index) {
+        int previous = selected;
+        selected = index;
+        revision++;
+        redrawHotspot(previous);
+        redrawHotspot(index);
+    }
+
+    // Count of viewport, icon and selection changes; the transient hover highlight is not counted
+    public long getRevision() {
+        return revision;
+    }
+
+    private void setHovered(int index) {
+        if (index == hovered) return;
+        int previous = hovered;
+        hovered = index;
+        setCursor(index >= 0 ? Cursor.HAND : Cursor.DEFAULT);
+        redrawHotspot(previous);
+        redrawHotspot(index);
+        onHover.accept(index);
+    }
+
+    // Topmost hotspot under the screen point, or -1
+    private int hit(double x, double y) {
+        if (!isLaidOut()) return -1;
+        collectAround(x, y, 0, 0);
+        int best = -1;
+        for (int i = 0; i < visibleCount; i++) {
+            int index = visible[i];
+            double left = screenX(index) - RADIUS;
+            double top = screenY(index) - HALF_HEIGHT;
+            if (index > best && x >= left && x <= left + width(index) && y >= top && y <= top + HALF_HEIGHT * 2) {
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    private void redrawHotspot(int index) {
+        if (index < 0) return;
+        redraw(screenX(index) - RADIUS, screenY(index) - HALF_HEIGHT, width(index), HALF_HEIGHT * 2);
+    }
+
+    private void redraw(double x, double y, double width, double height) {
+        // Icons and selection can change before the map is laid out; setViewport repaints everything
+        if (!isLaidOut()) return;
+        // Pad by a pixel so antialiased edges are cleared too
+        x -= 1;
+        y -= 1;
+        width += 2;
+        height += 2;
+
+        collectAround(x, y, width, height);
+        // Draw in catalog order so overlapping hotspots always stack the same way
+        Arrays.sort(visible, 0, visibleCount);
+
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
+        gc.clearRect(x, y, width, height);
+        for (int i = 0; i < visibleCount; i++) {
+            draw(gc, visible[i]);
+        }
+        gc.restore();
+    }
+
+    private boolean isLaidOut() {
+        return viewportSet && getWidth() > 0 && getHeight() > 0;
+    }
+
+    // Every hotspot whose marker or label may overlap the screen rectangle
+    private void collectAround(double x, double y, double width, double height) {
+        visibleCount = 0;
+        Bounds area;
+        try {
+            area = mapToScreen.inverseTransform(new BoundingBox(x - maxRight, y - HALF_HEIGHT,
+                    width + maxRight + RADIUS, height + HALF_HEIGHT * 2));
+        } catch (NonInvertibleTransformException e) {
+            return; // Map not laid out yet
+        }
+        grid.query(area.getMinX(), area.getMinY(), area.getWidth(), area.getHeight(), this::collect);
+    }
+
+    private void collect(int index) {
+        if (visibleCount == visible.length) {
+            visible = Arrays.copyOf(visible, visibleCount * 2);
+        }
+        visible[visibleCount++] = index;
+    }
+
+    private double screenX(int index) {
+        TourCatalog.Landmark landmark = landmarks.get(index);
+        return mapToScreen.getMxx() * landmark.x() + mapToScreen.getMxy() * landmark.y() + mapToScreen.getTx();
+    }
+
+    private double screenY(int index) {
+        TourCatalog.Landmark landmark = landmarks.get(index);
+        return mapToScreen.getMyx() * landmark.x() + mapToScreen.getMyy() * landmark.y() + mapToScreen.getTy();
+    }
+
+    private double width(int index) {
+        return RADIUS + LABEL_OFFSET_X + labelWidths[index];
+    }
+
+    private void draw(GraphicsContext gc, int index) {
+        TourCatalog.Landmark landmark = landmarks.get(index);
+        boolean active = index == hovered || index == selected;
+        double x = screenX(index);
+        double y = screenY(index);
+
+        gc.setGlobalAlpha(active ? 1 : IDLE_OPACITY);
+        gc.setFill(index == selected ? SELECTED_COLOR : colors[index]);
+        gc.fillOval(x - RADIUS, y - RADIUS, RADIUS * 2, RADIUS * 2);
+        gc.setGlobalAlpha(1);
+
+        double labelX = x + LABEL_OFFSET_X;
+        double labelY = y - LABEL_HEIGHT / 2;
+        if (active) {
+            gc.setFill(LABEL_HOVER_BACKGROUND);
+            gc.fillRoundRect(labelX, labelY, labelWidths[index], LABEL_HEIGHT, 10, 10);
+        }
+        if (icons[index] != null) {
+            gc.drawImage(icons[index], labelX + LABEL_PADDING, labelY, ICON_SIZE, ICON_SIZE);
+        }
+        gc.setFill(LABEL_COLOR);
+        gc.setFont(labelFont);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(landmark.name(), labelX + LABEL_PADDING + ICON_SIZE + ICON_GAP, y);
+    }
+}
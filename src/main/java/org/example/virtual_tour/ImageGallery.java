@@ -0,0 +1,132 @@
+package org.example.virtual_tour;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One reusable gallery window that only keeps the current image and its neighbours decoded
+public class ImageGallery {
+    private final ImageLoader imageLoader;
+    private final Image placeholder;
+    private final double fitWidth;
+
+    private Stage stage;
+    private ImageView imageView;
+    private Label countLabel;
+
+    private List<URL> images = List.of();
+    private int currentIndex;
+    private final Map<Integer, Image> decoded = new HashMap<>();
+    private final Map<Integer, ImageLoader.Request> pending = new HashMap<>();
+
+    public ImageGallery(ImageLoader imageLoader, Image placeholder, double fitWidth) {
+        this.imageLoader = imageLoader;
+        this.placeholder = placeholder;
+        this.fitWidth = fitWidth;
+    }
+
+    public void show(String title, List<URL> images) {
+        if (stage == null) {
+            createStage();
+        }
+        release();
+        this.images = List.copyOf(images);
+        stage.setTitle(title);
+        showIndex(0);
+
+        if (stage.isShowing()) {
+            stage.toFront();
+        } else {
+            stage.show();
+        }
+    }
+
+    private void createStage() {
+        imageView = new ImageView();
+        imageView.setPreserveRatio(true);
+        imageView.setFitWidth(fitWidth);
+
+        Button prevBtn = new Button("Previous");
+        Button nextBtn = new Button("Next");
+        countLabel = new Label();
+
+        prevBtn.setOnAction(e -> showIndex(wrap(currentIndex - 1)));
+        nextBtn.setOnAction(e -> showIndex(wrap(currentIndex + 1)));
+
+        HBox controls = new HBox(20, prevBtn, countLabel, nextBtn);
+        controls.setAlignment(Pos.CENTER);
+
+        VBox galleryLayout = new VBox(20, imageView, controls);
+        galleryLayout.setAlignment(Pos.CENTER);
+        galleryLayout.setPadding(new Insets(20));
+
+        stage = new Stage();
+        stage.setScene(new Scene(galleryLayout, 800, 600));
+        stage.setOnHidden(e -> release());
+    }
+
+    private void showIndex(int index) {
+        currentIndex = index;
+        countLabel.setText((index + 1) + "/" + images.size());
+
+        int next = wrap(index + 1);
+        int previous = wrap(index - 1);
+
+        // Drop anything outside the current window
+        decoded.keySet().removeIf(i -> i != index && i != next && i != previous);
+        pending.entrySet().removeIf(entry -> {
+            int i = entry.getKey();
+            if (i == index || i == next || i == previous) return false;
+            entry.getValue().cancel();
+            return true;
+        });
+
+        Image image = decoded.get(index);
+        imageView.setImage(image != null ? image : placeholder);
+
+        request(index);
+        request(next);
+        request(previous);
+    }
+
+    private void request(int index) {
+        if (decoded.containsKey(index) || pending.containsKey(index)) return;
+
+        pending.put(index, imageLoader.load(images.get(index), 0, image -> {
+            pending.remove(index);
+            decoded.put(index, image);
+            if (index == currentIndex) {
+                imageView.setImage(image);
+            }
+        }, ex -> {
+            pending.remove(index);
+            System.err.println("Error loading gallery image: " + ex.getMessage());
+        }));
+    }
+
+    private int wrap(int index) {
+        int size = images.size();
+        return ((index % size) + size) % size;
+    }
+
+    private void release() {
+        pending.values().forEach(ImageLoader.Request::cancel);
+        pending.clear();
+        decoded.clear();
+        if (imageView != null) {
+            imageView.setImage(null);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.virtual_tour;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Decodes images off the JavaFX Application Thread and hands them back on it. With a cache budget,
+// decoded images are kept in an LRU bounded by their pixel bytes and handed to every later request for
+// the same URL and width, from any thread or tour session.
+public class ImageLoader {
+    private final ExecutorService executor;
+    private final Map<String, Image> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final long cacheBytes;
+    private long cachedBytes;
+
+    public ImageLoader(int threads) {
+        this(threads, 0);
+    }
+
+    public ImageLoader(int threads, long cacheBytes) {
+        this.cacheBytes = cacheBytes;
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "image-loader-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Request load(URL url, double requestedWidth, Consumer<Image> onLoaded, Consumer<Exception> onError) {
+        Request request = new Request();
+        String cacheKey = cacheKey(url, requestedWidth);
+        Image cached = cached(cacheKey);
+        if (cached != null) {
+            Platform.runLater(() -> {
+                if (!request.isCancelled()) onLoaded.accept(cached);
+            });
+            return request;
+        }
+        request.future = executor.submit(() -> {
+            if (request.isCancelled()) return;
+            Image image;
+            try {
+                image = decode(url, requestedWidth);
+            } catch (Exception e) {
+                // Any failure, not only I/O, must reach the caller or its view waits on the placeholder forever
+                Platform.runLater(() -> {
+                    if (!request.isCancelled()) onError.accept(e);
+                });
+                return;
+            }
+            if (!image.isError()) {
+                remember(cacheKey, image);
+            }
+
+            Platform.runLater(() -> {
+                if (request.isCancelled()) return;
+                if (image.isError()) {
+                    onError.accept(image.getException());
+                } else {
+                    onLoaded.accept(image);
+                }
+            });
+        });
+        return request;
+    }
+
+    // Decoded pixels from an earlier run are mapped straight from the pixel cache; anything else is decoded
+    // and written there for next time. Both paths are timed separately in TourMetrics.
+    private static Image decode(URL url, double requestedWidth) throws IOException {
+        long started = System.nanoTime();
+        PixelCache pixelCache = PixelCache.get();
+        Image cached = pixelCache.load(url, requestedWidth);
+        if (cached != null) {
+            TourMetrics.get().imageLoaded(cacheKey(url, requestedWidth), true, System.nanoTime() - started);
+            return cached;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            // Cancelled while reading the pixel cache; nobody is waiting for a decode
+            throw new InterruptedIOException("Image load cancelled: " + url);
+        }
+
+        Image image;
+        if (!AssetPack.isPackUrl(url)) {
+            image = new Image(url.toString(), requestedWidth, 0, true, true, false);
+        } else {
+            // Image(String) only understands registered protocols, so asset pack entries are decoded from their stream
+            try (InputStream in = url.openStream()) {
+                image = new Image(in, requestedWidth, 0, true, true);
+            }
+        }
+        if (!image.isError()) {
+            TourMetrics.get().imageLoaded(cacheKey(url, requestedWidth), false, System.nanoTime() - started);
+            TourMetrics.get().imageDecoded(image);
+            pixelCache.store(url, requestedWidth, image);
+        }
+        return image;
+    }
+
+    private static String cacheKey(URL url, double requestedWidth) {
+        return url + "@" + requestedWidth;
+    }
+
+    // Whether a load of this URL and width would be answered from the cache right now
+    public synchronized boolean isCached(URL url, double requestedWidth) {
+        return cacheBytes > 0 && cache.containsKey(cacheKey(url, requestedWidth));
+    }
+
+    private synchronized Image cached(String key) {
+        return cacheBytes > 0 ? cache.get(key) : null;
+    }
+
+    private synchronized void remember(String key, Image image) {
+        long bytes = bytes(image);
+        if (bytes > cacheBytes) return;
+        Image previous = cache.put(key, image);
+        cachedBytes += bytes - (previous != null ? bytes(previous) : 0);
+        Iterator<Image> eldest = cache.values().iterator();
+        while (cachedBytes > cacheBytes && eldest.hasNext()) {
+            cachedBytes -= bytes(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    private static long bytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public static Image createPlaceholder(int width, int height, Color color) {
+        WritableImage image = new WritableImage(width, height);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                writer.setColor(x, y, color);
+            }
+        }
+        return image;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static class Request {
+        private volatile boolean cancelled;
+        private Future<?> future;
+
+        public void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.virtual_tour;
+
+// Pre-scaled copies of each landmark image, written by ImageVariantGenerator at build time
+public enum ImageVariant {
+    ICON(64),
+    GALLERY(720),
+    FULL(1400);
+
+    public static final String DIRECTORY = "variants";
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public String suffix() {
+        return name().toLowerCase();
+    }
+
+    // "3.png" -> "3.gallery.png", stored in the DIRECTORY next to the original
+    public String fileName(String originalName) {
+        int dot = originalName.lastIndexOf('.');
+        return originalName.substring(0, dot) + "." + suffix() + originalName.substring(dot);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.virtual_tour;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+// Build step (process-classes): writes ImageVariant copies for every image under the images directory.
+// Usage: ImageVariantGenerator <source images dir> <output images dir>
+public class ImageVariantGenerator {
+    private static final float JPEG_QUALITY = 0.85f;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ImageVariantGenerator <source dir> <output dir>");
+        }
+        File sourceRoot = new File(args[0]);
+        File outputRoot = new File(args[1]);
+
+        int written = 0;
+        File[] dirs = sourceRoot.listFiles(File::isDirectory);
+        if (dirs == null) {
+            throw new IOException("Not a directory: " + sourceRoot);
+        }
+        for (File dir : dirs) {
+            File[] files = dir.listFiles(ImageVariantGenerator::isImage);
+            if (files == null) continue;
+            for (File file : files) {
+                written += writeVariants(file, new File(new File(outputRoot, dir.getName()), ImageVariant.DIRECTORY));
+            }
+        }
+        System.out.println("Image variants written: " + written);
+    }
+
+    private static boolean isImage(File file) {
+        String name = file.getName().toLowerCase();
+        return file.isFile() && (name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png"));
+    }
+
+    private static int writeVariants(File source, File outputDir) throws IOException {
+        String name = source.getName();
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase();
+
+        BufferedImage original = null;
+        int written = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            File target = new File(outputDir, variant.fileName(name));
+            if (target.exists() && target.lastModified() >= source.lastModified()) continue;
+
+            if (original == null) {
+                original = ImageIO.read(source);
+                if (original == null) {
+                    System.err.println("Unreadable image skipped: " + source);
+                    return written;
+                }
+            }
+            // Never upscale; AssetManifest.imageUrl falls through to the next size or the original
+            if (original.getWidth() <= variant.getWidth()) continue;
+
+            outputDir.mkdirs();
+            write(scale(original, variant.getWidth(), extension.equals("png")), extension, target);
+            written++;
+        }
+        return written;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        // Halve repeatedly before the final step so large reductions keep their detail
+        do {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = Math.max(1, (int) Math.round((double) source.getHeight() * nextWidth / source.getWidth()));
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, nextWidth, nextHeight, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+
+        return current;
+    }
+
+    private static void write(BufferedImage image, String extension, File target) throws IOException {
+        if (extension.equals("png")) {
+            ImageIO.write(image, "png", target);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
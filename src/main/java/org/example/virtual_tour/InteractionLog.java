@@ -0,0 +1,157 @@
+package org.example.virtual_tour;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Visitor interaction recorder. Producers claim a slot in a fixed ring of primitive arrays with one CAS
+// and publish it through the slot's sequence number, so a record() costs a bounded number of atomic
+// operations, never allocates and never blocks: when the ring is full or contended the event is
+// counted as dropped instead. A daemon thread drains the ring every second (sooner when half full) and
+// appends the batch to -Dtour.interactions.file, rolling over to .1 .. .3 at 1 MB. Without that property
+// record() returns immediately.
+// File: int magic, int version, then 16-byte records: long epochMillis, byte kind, byte session,
+// short landmark, int value.
+public class InteractionLog {
+    public enum Kind {
+        LANDMARK_SELECTED,   // value unused
+        LANDMARK_CLOSED,     // value = ms since the landmark was selected
+        AUDIO_STARTED,       // value unused
+        AUDIO_STOPPED,       // value = ms of narration heard before stopping
+        AUDIO_FINISHED,      // value = ms of narration heard
+        VIDEO_STARTED,       // value unused
+        GALLERY_OPENED,      // value = number of images
+        QUIZ_ANSWERED        // value = 1 when correct, 0 when wrong
+    }
+
+    static final int MAGIC = 0x56544931; // "VTI1"
+    static final int VERSION = 1;
+    private static final int CAPACITY = 4096;
+    private static final int MAX_CLAIM_ATTEMPTS = 4;
+    private static final long FLUSH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_FILE_BYTES = 1024 * 1024;
+    private static final int FILE_BACKUPS = 3;
+    private static final InteractionLog INSTANCE = new InteractionLog(System.getProperty("tour.interactions.file"));
+
+    private final File file;
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final long[] times = new long[CAPACITY];
+    private final int[] keys = new int[CAPACITY];
+    private final int[] values = new int[CAPACITY];
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger sessions = new AtomicInteger();
+    private long reportedDropped;
+    private Thread writer;
+
+    InteractionLog(String path) {
+        this.file = path == null ? null : new File(path);
+        if (file == null) return;
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        writer = new Thread(this::writeLoop, "interaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "interaction-flush"));
+    }
+
+    public static InteractionLog get() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public int newSession() {
+        return sessions.getAndIncrement();
+    }
+
+    // Safe from any thread; false when the event was dropped
+    public boolean record(int session, Kind kind, int landmark, long value) {
+        if (file == null) return false;
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            long position = head.get();
+            int slot = (int) (position & (CAPACITY - 1));
+            long sequence = sequences.get(slot);
+            if (sequence < position) break; // full: the writer has not freed this slot yet
+            if (sequence == position && head.compareAndSet(position, position + 1)) {
+                times[slot] = System.currentTimeMillis();
+                keys[slot] = kind.ordinal() << 24 | (session & 0xFF) << 16 | (landmark & 0xFFFF);
+                values[slot] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+                sequences.lazySet(slot, position + 1);
+                if (position - tail >= CAPACITY / 2) {
+                    LockSupport.unpark(writer);
+                }
+                return true;
+            }
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(FLUSH_NANOS);
+            drain();
+        }
+    }
+
+    synchronized void drain() {
+        long position = tail;
+        long published = position;
+        while (sequences.get((int) (published & (CAPACITY - 1))) == published + 1) {
+            published++;
+        }
+        if (published == position) return;
+
+        try {
+            if (file.length() > MAX_FILE_BYTES) {
+                TourMetrics.roll(file, FILE_BACKUPS);
+            }
+            boolean fresh = file.length() == 0;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+                if (fresh) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                }
+                for (long p = position; p < published; p++) {
+                    int slot = (int) (p & (CAPACITY - 1));
+                    int key = keys[slot];
+                    out.writeLong(times[slot]);
+                    out.writeByte(key >>> 24);
+                    out.writeByte(key >>> 16);
+                    out.writeShort(key);
+                    out.writeInt(values[slot]);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error writing interaction log: " + e.getMessage());
+        }
+
+        // Slots are released even when the write failed so producers never stall on a broken disk
+        for (long p = position; p < published; p++) {
+            sequences.lazySet((int) (p & (CAPACITY - 1)), p + CAPACITY);
+        }
+        tail = published;
+
+        long droppedNow = dropped.get();
+        if (droppedNow != reportedDropped) {
+            System.err.println("Interaction log dropped " + (droppedNow - reportedDropped) + " events");
+            reportedDropped = droppedNow;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.virtual_tour;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+// Speculative loading for the hotspot under the pointer or finger. Hovering a landmark queues the decode
+// of its main image at once, with at most a few speculative decodes in flight; if the pointer stays for
+// DWELL the landmark's narration player and video segment are prepared as well. Leaving the hotspot
+// cancels a decode that has not finished. Decoded images land in the loader's cache, where the real
+// selection picks them up; a landmark counts as prefetched only while its image is still in that cache.
+// Every selection is reported to TourMetrics as a hit (image ready), late (still decoding) or miss, next
+// to how many prefetches were started, cancelled or skipped at the limit.
+// All methods run on the FX thread.
+public class LandmarkPrefetcher {
+    private static final Duration DWELL = Duration.millis(150);
+
+    private final ImageLoader loader;
+    private final IntFunction<URL> imageUrl;
+    private final IntConsumer prepareMedia;
+    private final Semaphore decodes;
+    private final TourMetrics metrics = TourMetrics.get();
+    private final PauseTransition dwell = new PauseTransition(DWELL);
+    private final Map<Integer, ImageLoader.Request> inFlight = new HashMap<>();
+    private final Set<Integer> ready = new HashSet<>();
+    private int hovered = -1;
+
+    public LandmarkPrefetcher(ImageLoader loader, IntFunction<URL> imageUrl, IntConsumer prepareMedia, int maxDecodes) {
+        this.loader = loader;
+        this.imageUrl = imageUrl;
+        this.prepareMedia = prepareMedia;
+        this.decodes = new Semaphore(maxDecodes);
+    }
+
+    // Landmark now under the pointer, or -1 when it left every hotspot
+    public void hover(int index) {
+        if (index == hovered) return;
+        dwell.stop();
+        if (hovered >= 0) {
+            cancel(hovered);
+        }
+        hovered = index;
+        if (index < 0) return;
+
+        URL url = imageUrl.apply(index);
+        if (url != null && !inFlight.containsKey(index) && !loader.isCached(url, 0)) {
+            decode(index, url);
+        }
+        dwell.setOnFinished(e -> prepareMedia.accept(index));
+        dwell.playFromStart();
+    }
+
+    private void decode(int index, URL url) {
+        if (!decodes.tryAcquire()) {
+            metrics.prefetch(TourMetrics.Prefetch.SKIPPED);
+            return;
+        }
+        metrics.prefetch(TourMetrics.Prefetch.STARTED);
+        inFlight.put(index, loader.load(url, 0, image -> {
+            inFlight.remove(index);
+            ready.add(index);
+            decodes.release();
+        }, ex -> {
+            inFlight.remove(index);
+            decodes.release();
+        }));
+    }
+
+    private void cancel(int index) {
+        ImageLoader.Request request = inFlight.remove(index);
+        if (request != null) {
+            request.cancel();
+            decodes.release();
+            metrics.prefetch(TourMetrics.Prefetch.CANCELLED);
+        }
+    }
+
+    // Called as the landmark is selected; a decode still in flight is left to finish
+    public void selected(int index) {
+        dwell.stop();
+        hovered = -1;
+        // The loader may have evicted a prefetched image since, in which case the selection decodes it again
+        boolean prefetched = ready.remove(index);
+        URL url = imageUrl.apply(index);
+        if (inFlight.containsKey(index)) {
+            metrics.prefetch(TourMetrics.Prefetch.LATE);
+        } else if (prefetched && url != null && loader.isCached(url, 0)) {
+            metrics.prefetch(TourMetrics.Prefetch.HIT);
+        } else {
+            metrics.prefetch(TourMetrics.Prefetch.MISS);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.virtual_tour;
+
+public interface LatencyHistogramMBean {
+    long getCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
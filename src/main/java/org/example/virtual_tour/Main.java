@@ -1,22 +1,87 @@
 package org.example.virtual_tour;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.time.Instant;
+import java.util.List;
 
 public class Main extends Application {
     @Override
     public void start(Stage primaryStage) {
-        TourInterface tour = new TourInterface();
-        Scene scene = new Scene(tour.createInterface(primaryStage));
+        TourCatalog.City city = TourCatalog.load().city(System.getProperty("tour.city"));
+        if (city == null) {
+            System.err.println("No tours in catalog");
+            city = new TourCatalog.City("empty", "Tour", null, null, List.of());
+        }
+
+        // -Dtour.screens=<n>|all runs that many independent sessions, one window per display, in this JVM
+        List<Screen> displays = Screen.getScreens();
+        String screensProperty = System.getProperty("tour.screens", "1");
+        int sessions = screensProperty.equals("all") ? displays.size() : sessionCount(screensProperty);
+        TourServices services = new TourServices();
+        for (int i = 0; i < sessions; i++) {
+            Stage stage = i == 0 ? primaryStage : new Stage();
+            TourInterface tour = new TourInterface(city, services);
+            Scene scene = new Scene(tour.createInterface(stage));
+            if (i == 0) {
+                reportFirstFrame(scene);
+            }
+            if (sessions > 1) {
+                Rectangle2D bounds = displays.get(i % displays.size()).getVisualBounds();
+                stage.setX(bounds.getMinX());
+                stage.setY(bounds.getMinY());
+            }
+
+            stage.setTitle(tour.getHomeTitle());
+            stage.setScene(scene);
+            stage.setMaximized(true);
+            stage.show();
+        }
+
+        // -Dtour.watchdog.threshold=<ms> sets the stall threshold; 0 turns the watchdog off
+        long stallThreshold = Long.getLong("tour.watchdog.threshold", 500);
+        if (stallThreshold > 0) {
+            new FxWatchdog(stallThreshold, TourMetrics.get()).start();
+        }
+
+        // CDS training run for the fast-start profile: give the icons and visible tiles time to load, then exit
+        if (Boolean.getBoolean("tour.training")) {
+            PauseTransition exit = new PauseTransition(Duration.seconds(3));
+            exit.setOnFinished(e -> Platform.exit());
+            exit.play();
+        }
+    }
+
+    private static int sessionCount(String value) {
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid tour.screens '" + value + "', running one session");
+            return 1;
+        }
+    }
 
-        primaryStage.setTitle("Maseru Virtual Tour Guide");
-        primaryStage.setScene(scene);
-        primaryStage.setMaximized(true);
-        primaryStage.show();
+    // Logs the time from process start to the end of the first layout pass
+    private static void reportFirstFrame(Scene scene) {
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                ProcessHandle.current().info().startInstant().ifPresent(start -> System.out.println(
+                        "First frame after " + (Instant.now().toEpochMilli() - start.toEpochMilli()) + " ms"));
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
     }
 
     public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
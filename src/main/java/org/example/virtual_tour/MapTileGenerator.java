@@ -0,0 +1,161 @@
+package org.example.virtual_tour;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Properties;
+
+// Build step (process-classes): cuts every map image into a tile pyramid for TiledMapView.
+// The top level is the full-resolution image; each level below halves it until one tile covers the map.
+// The source is read a strip at a time and lower levels are built from the level above, so memory use
+// does not depend on the map's resolution.
+// Usage: MapTileGenerator <source map dir> <output tiles dir>
+public class MapTileGenerator {
+    private static final float JPEG_QUALITY = 0.85f;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: MapTileGenerator <source map dir> <output tiles dir>");
+        }
+        File[] maps = new File(args[0]).listFiles(f -> f.isFile() && f.getName().toLowerCase().matches(".*\\.(jpe?g|png)"));
+        if (maps == null) {
+            throw new IOException("Not a directory: " + args[0]);
+        }
+        for (File map : maps) {
+            String name = map.getName();
+            File outputDir = new File(args[1], name.substring(0, name.lastIndexOf('.')));
+            File descriptor = new File(outputDir, TileSet.DESCRIPTOR);
+            if (descriptor.exists() && descriptor.lastModified() >= map.lastModified()) continue;
+            int tiles = generate(map, outputDir, descriptor);
+            System.out.println("Map tiles written for " + name + ": " + tiles);
+        }
+    }
+
+    private static int generate(File source, File outputDir, File descriptor) throws IOException {
+        int tileSize = TileSet.DEFAULT_TILE_SIZE;
+        String format = source.getName().toLowerCase().endsWith(".png") ? "png" : "jpg";
+        int width;
+        int height;
+        int written = 0;
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unreadable map image: " + source);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+                int top = TileSet.levelCount(width, height, tileSize) - 1;
+
+                // Full resolution level straight from the source, one strip of tiles at a time
+                for (int row = 0; row * tileSize < height; row++) {
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    int stripHeight = Math.min(tileSize, height - row * tileSize);
+                    param.setSourceRegion(new Rectangle(0, row * tileSize, width, stripHeight));
+                    BufferedImage strip = reader.read(0, param);
+                    for (int col = 0; col * tileSize < width; col++) {
+                        int tileWidth = Math.min(tileSize, width - col * tileSize);
+                        write(strip.getSubimage(col * tileSize, 0, tileWidth, stripHeight), format,
+                                tileFile(outputDir, top, col, row, format));
+                        written++;
+                    }
+                }
+
+                for (int level = top - 1; level >= 0; level--) {
+                    written += downsample(outputDir, level, width, height, top, tileSize, format);
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("width", String.valueOf(width));
+        properties.setProperty("height", String.valueOf(height));
+        properties.setProperty("tileSize", String.valueOf(tileSize));
+        properties.setProperty("format", format);
+        try (OutputStream out = new FileOutputStream(descriptor)) {
+            properties.store(out, "Generated by MapTileGenerator - do not edit");
+        }
+        return written;
+    }
+
+    // Each tile is the four tiles beneath it from the next level up, scaled by half
+    private static int downsample(File outputDir, int level, int width, int height, int top,
+                                  int tileSize, String format) throws IOException {
+        int levelWidth = TileSet.levelSize(width, top - level);
+        int levelHeight = TileSet.levelSize(height, top - level);
+        boolean alpha = format.equals("png");
+        int written = 0;
+
+        for (int row = 0; row * tileSize < levelHeight; row++) {
+            for (int col = 0; col * tileSize < levelWidth; col++) {
+                int tileWidth = Math.min(tileSize, levelWidth - col * tileSize);
+                int tileHeight = Math.min(tileSize, levelHeight - row * tileSize);
+                BufferedImage tile = new BufferedImage(tileWidth, tileHeight,
+                        alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = tile.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                for (int dy = 0; dy < 2; dy++) {
+                    for (int dx = 0; dx < 2; dx++) {
+                        File child = tileFile(outputDir, level + 1, col * 2 + dx, row * 2 + dy, format);
+                        if (!child.exists()) continue;
+                        BufferedImage image = ImageIO.read(child);
+                        g.drawImage(image, dx * tileSize / 2, dy * tileSize / 2,
+                                (image.getWidth() + 1) / 2, (image.getHeight() + 1) / 2, null);
+                    }
+                }
+                g.dispose();
+                write(tile, format, tileFile(outputDir, level, col, row, format));
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static File tileFile(File outputDir, int level, int col, int row, String format) {
+        return new File(new File(outputDir, String.valueOf(level)), col + "_" + row + "." + format);
+    }
+
+    private static void write(BufferedImage image, String format, File target) throws IOException {
+        target.getParentFile().mkdirs();
+        if (format.equals("png")) {
+            ImageIO.write(image, "png", target);
+            return;
+        }
+        if (image.getColorModel().hasAlpha() || image.getType() == BufferedImage.TYPE_CUSTOM) {
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            image = rgb;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
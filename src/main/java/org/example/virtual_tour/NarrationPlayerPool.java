@@ -0,0 +1,114 @@
+package org.example.virtual_tour;
+
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU pool of prepared narration players, keyed by landmark. Players are rewound instead of disposed
+// so a replay skips the open/demux/preroll cost; only evicted players are disposed, and never the one playing.
+// Time from play() to the first sound is recorded per player in TourMetrics.
+public class NarrationPlayerPool {
+    private final int capacity;
+    private final Map<String, MediaPlayer> players = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<MediaPlayer, Long> playRequestedAt = new HashMap<>();
+    private MediaPlayer playing;
+    // Read by the JMX media player gauge off the FX thread
+    private volatile int size;
+
+    public NarrationPlayerPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public MediaPlayer prepare(String key, URL url) {
+        MediaPlayer player = players.get(key);
+        if (player == null) {
+            player = new MediaPlayer(new Media(url.toString()));
+            MediaPlayer created = player;
+            player.setOnError(() -> {
+                System.err.println("Narration error for " + key + ": " + created.getError());
+                TourMetrics.get().mediaError();
+                players.remove(key, created);
+                size = players.size();
+                discard(created);
+            });
+            player.setOnPlaying(() -> {
+                Long requestedAt = playRequestedAt.remove(created);
+                if (requestedAt != null) {
+                    TourMetrics.get().narrationStarted(System.nanoTime() - requestedAt);
+                }
+            });
+            players.put(key, player);
+            evict(player);
+            size = players.size();
+        }
+        return player;
+    }
+
+    public void play(String key, URL url, Runnable onEnd) {
+        MediaPlayer player = prepare(key, url);
+        player.setOnEndOfMedia(() -> {
+            player.stop();
+            if (playing == player) {
+                playing = null;
+            }
+            onEnd.run();
+        });
+        playing = player;
+        playRequestedAt.put(player, System.nanoTime());
+        player.play();
+    }
+
+    public void stop(String key) {
+        MediaPlayer player = players.get(key);
+        if (player != null) {
+            stop(player);
+        }
+    }
+
+    public void stopAll() {
+        players.values().forEach(this::stop);
+    }
+
+    private void stop(MediaPlayer player) {
+        player.stop();
+        playRequestedAt.remove(player);
+        if (playing == player) {
+            playing = null;
+        }
+    }
+
+    public void dispose() {
+        new ArrayList<>(players.values()).forEach(this::discard);
+        players.clear();
+        size = 0;
+    }
+
+    // Least recently used players beyond capacity, skipping the one playing and the one just added
+    private void evict(MediaPlayer added) {
+        Iterator<MediaPlayer> eldest = players.values().iterator();
+        while (players.size() > capacity && eldest.hasNext()) {
+            MediaPlayer player = eldest.next();
+            if (player == added || player == playing) continue;
+            eldest.remove();
+            discard(player);
+        }
+    }
+
+    private void discard(MediaPlayer player) {
+        playRequestedAt.remove(player);
+        if (playing == player) {
+            playing = null;
+        }
+        player.dispose();
+    }
+
+    public int size() {
+        return size;
+    }
+}
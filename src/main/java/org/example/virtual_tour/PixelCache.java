@@ -0,0 +1,244 @@
+package org.example.virtual_tour;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Disk cache of decoded images as premultiplied ARGB pixels, keyed by source URL and requested width.
+// A hit maps the file copy-on-write and wraps it in a PixelBuffer, so the image is shown without decoding
+// and without copying the pixels onto the heap. Each entry records the source's size and modification
+// time and is replaced when either changes. Lives in ~/.cache/virtual_tour/pixels unless
+// -Dtour.pixelCache=<dir> points elsewhere; -Dtour.pixelCache=off disables it. The directory is kept under
+// -Dtour.pixelCache.size MB (default 256): a hit refreshes the entry's modification time, and a store that
+// goes over the budget deletes the least recently used entries, as does startup.
+// File: int magic, int version, long sourceModified, long sourceLength, int width, int height,
+// then width * height native-order ints.
+public class PixelCache {
+    private static final int MAGIC = 0x56545058; // "VTPX"
+    private static final int VERSION = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 2;
+    private static final int HEADER_BYTES = 32;
+    private static final String SUFFIX = ".argb";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final AtomicLong bytes = new AtomicLong();
+
+    private PixelCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    private static class Holder {
+        static final PixelCache INSTANCE = open();
+    }
+
+    public static PixelCache get() {
+        return Holder.INSTANCE;
+    }
+
+    private static PixelCache open() {
+        String configured = System.getProperty("tour.pixelCache");
+        if ("off".equals(configured)) return new PixelCache(null, 0);
+        Path directory = configured != null ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".cache", "virtual_tour", "pixels");
+        try {
+            Files.createDirectories(directory);
+            PixelCache cache = new PixelCache(directory, Long.getLong("tour.pixelCache.size", 256) * 1024 * 1024);
+            cache.prune();
+            return cache;
+        } catch (IOException e) {
+            System.err.println("Pixel cache disabled: " + e.getMessage());
+            return new PixelCache(null, 0);
+        }
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    // Cached pixels for the source at this width, or null when missing or stale
+    public Image load(URL url, double requestedWidth) {
+        if (directory == null) return null;
+        Path file = file(url, requestedWidth);
+        if (!Files.isRegularFile(file)) return null;
+        // Copy-on-write mapping needs a writable channel; the file itself is never modified
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+            data.order(ByteOrder.nativeOrder());
+            Source source = source(url);
+            if (data.getInt() != MAGIC || data.getInt() != VERSION
+                    || data.getLong() != source.modified() || data.getLong() != source.length()) {
+                return null;
+            }
+            int width = data.getInt();
+            int height = data.getInt();
+            if (channel.size() != HEADER_BYTES + (long) width * height * 4) {
+                throw new IOException("Truncated pixel cache entry");
+            }
+            IntBuffer pixels = data.slice(HEADER_BYTES, width * height * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+            // Marks the entry as recently used for pruning
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new WritableImage(new PixelBuffer<>(width, height, pixels, PixelFormat.getIntArgbPreInstance()));
+        } catch (IOException | RuntimeException e) {
+            if (interrupted(e)) {
+                // A cancelled load closed the channel; the entry itself is fine
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            System.err.println("Dropping pixel cache entry for " + url + ": " + e.getMessage());
+            delete(file);
+            return null;
+        }
+    }
+
+    // Writes the decoded image; a temporary file is moved into place so readers never see half an entry
+    public void store(URL url, double requestedWidth, Image image) {
+        if (directory == null || image.getPixelReader() == null) return;
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        Path file = file(url, requestedWidth);
+        Path temp = null;
+        try {
+            Source source = source(url);
+            // Unique per writer, since two loaders may decode the same image at once
+            temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_BYTES + (long) width * height * 4);
+                data.order(ByteOrder.nativeOrder());
+                data.putInt(MAGIC).putInt(VERSION).putLong(source.modified()).putLong(source.length())
+                        .putInt(width).putInt(height);
+                IntBuffer pixels = data.slice(HEADER_BYTES, width * height * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+                image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, width);
+                data.force();
+            }
+            long replaced = Files.isRegularFile(file) ? Files.size(file) : 0;
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (bytes.addAndGet(HEADER_BYTES + (long) width * height * 4 - replaced) > maxBytes) {
+                prune();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (interrupted(e)) {
+                Thread.currentThread().interrupt();
+            } else {
+                System.err.println("Error writing pixel cache entry for " + url + ": " + e.getMessage());
+            }
+            if (temp != null) {
+                delete(temp);
+            }
+        }
+    }
+
+    // Deletes temporary files left by an interrupted store, then the least recently used entries until the
+    // directory is a tenth under budget so the next few stores do not rescan it. A mapped entry that cannot
+    // be deleted yet is skipped.
+    private synchronized void prune() {
+        List<Path> entries = new ArrayList<>();
+        Map<Path, FileTime> used = new HashMap<>();
+        long total = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp") && Files.getLastModifiedTime(file).toMillis()
+                        < System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)) {
+                    delete(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    entries.add(file);
+                    used.put(file, Files.getLastModifiedTime(file));
+                    total += Files.size(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error pruning pixel cache: " + e.getMessage());
+            return;
+        }
+
+        long target = maxBytes - maxBytes / 10;
+        entries.sort(Comparator.comparing(used::get));
+        for (Iterator<Path> oldest = entries.iterator(); total > target && oldest.hasNext(); ) {
+            Path file = oldest.next();
+            try {
+                long size = Files.size(file);
+                Files.delete(file);
+                total -= size;
+            } catch (IOException e) {
+                System.err.println("Error deleting " + file + ": " + e.getMessage());
+            }
+        }
+        bytes.set(total);
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    private record Source(long modified, long length) {
+    }
+
+    // Plain files are stat'ed directly; a file URLConnection would open (and leak) a stream to answer this
+    private static Source source(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                Path path = Path.of(url.toURI());
+                return new Source(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        URLConnection connection = url.openConnection();
+        return new Source(connection.getLastModified(), connection.getContentLengthLong());
+    }
+
+    private Path file(URL url, double requestedWidth) {
+        try {
+            byte[] key = (url + "@" + requestedWidth).getBytes(StandardCharsets.UTF_8);
+            return directory.resolve(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(key)) + SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Interrupting a thread blocked on a FileChannel closes the channel, which surfaces as an I/O error
+    private static boolean interrupted(Exception e) {
+        return e instanceof ClosedByInterruptException || e instanceof InterruptedIOException
+                || Thread.currentThread().isInterrupted();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Error deleting " + file + ": " + e.getMessage());
+        }
+    }
+}
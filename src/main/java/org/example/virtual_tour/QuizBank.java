@@ -0,0 +1,60 @@
+package org.example.virtual_tour;
+
+import java.util.List;
+import java.util.Random;
+
+// Per-session question decks, one per landmark. Each deck is an index permutation shuffled lazily:
+// a draw swaps a random undrawn index to the end of the undrawn range, so every draw is O(1) and no
+// question repeats until the landmark's bank is used up. The next round then starts over, never
+// opening with the question that closed the previous one.
+public class QuizBank {
+    private final List<TourCatalog.Landmark> landmarks;
+    private final Deck[] decks;
+    private final Random random;
+
+    public QuizBank(List<TourCatalog.Landmark> landmarks, Random random) {
+        this.landmarks = landmarks;
+        this.decks = new Deck[landmarks.size()];
+        this.random = random;
+    }
+
+    // Next question for the landmark, or null when it has none
+    public TourCatalog.QuizQuestion draw(int landmark) {
+        List<TourCatalog.QuizQuestion> questions = landmarks.get(landmark).quizzes();
+        if (questions.isEmpty()) return null;
+        if (decks[landmark] == null) {
+            decks[landmark] = new Deck(questions.size());
+        }
+        return questions.get(decks[landmark].draw(random));
+    }
+
+    private static final class Deck {
+        private final int[] order;
+        private int remaining;
+        private int last = -1;
+
+        private Deck(int size) {
+            order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            remaining = size;
+        }
+
+        private int draw(Random random) {
+            if (remaining == 0) {
+                remaining = order.length;
+            }
+            int pick = random.nextInt(remaining);
+            if (order[pick] == last && remaining > 1) {
+                pick = (pick + 1 + random.nextInt(remaining - 1)) % remaining;
+            }
+            int drawn = order[pick];
+            order[pick] = order[remaining - 1];
+            order[remaining - 1] = drawn;
+            remaining--;
+            last = drawn;
+            return drawn;
+        }
+    }
+}
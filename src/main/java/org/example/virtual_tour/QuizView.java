@@ -0,0 +1,105 @@
+package org.example.virtual_tour;
+
+import javafx.css.PseudoClass;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.Toggle;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Quiz panel built once per session and refilled for each question. Option buttons are pooled and only
+// grow to the largest option count seen; the answer callback receives whether the pick was correct.
+public class QuizView extends VBox {
+    private static final PseudoClass CORRECT = PseudoClass.getPseudoClass("correct");
+    private static final PseudoClass WRONG = PseudoClass.getPseudoClass("wrong");
+    private static final PseudoClass UNANSWERED = PseudoClass.getPseudoClass("unanswered");
+
+    private final Label question = new Label();
+    private final VBox optionsBox = new VBox(5);
+    private final ToggleGroup options = new ToggleGroup();
+    private final List<RadioButton> optionPool = new ArrayList<>();
+    private final Button submit = new Button("SUBMIT ANSWER");
+    private final Label result = new Label();
+
+    private TourCatalog.QuizQuestion current;
+    private Consumer<Boolean> onAnswered;
+    private boolean answered;
+
+    public QuizView() {
+        super(10);
+        setAlignment(Pos.CENTER);
+        setPadding(new Insets(15));
+        setMaxWidth(600);
+        getStyleClass().add("quiz-box");
+
+        question.getStyleClass().add("quiz-question");
+        submit.getStyleClass().addAll("tour-button", "submit-button");
+        submit.setOnAction(e -> submit());
+        result.getStyleClass().add("quiz-result");
+
+        getChildren().addAll(question, optionsBox, submit, result);
+    }
+
+    public void show(TourCatalog.QuizQuestion quiz, Consumer<Boolean> onAnswered) {
+        this.current = quiz;
+        this.onAnswered = onAnswered;
+        answered = false;
+
+        question.setText(quiz.question());
+        int count = quiz.options().size();
+        while (optionPool.size() < count) {
+            RadioButton option = new RadioButton();
+            option.setToggleGroup(options);
+            option.getStyleClass().add("quiz-option");
+            optionPool.add(option);
+        }
+        options.selectToggle(null);
+        for (int i = 0; i < count; i++) {
+            RadioButton option = optionPool.get(i);
+            option.setText(quiz.options().get(i));
+            option.setDisable(false);
+        }
+        optionsBox.getChildren().setAll(optionPool.subList(0, count));
+
+        submit.setDisable(false);
+        result.setText("");
+        setResultState(null);
+    }
+
+    private void submit() {
+        if (answered || current == null) return;
+
+        Toggle selected = options.getSelectedToggle();
+        if (selected == null) {
+            result.setText("Please select an answer!");
+            setResultState(UNANSWERED);
+            return;
+        }
+
+        answered = true;
+        submit.setDisable(true);
+        boolean correct = optionPool.indexOf(selected) == current.answer();
+        if (correct) {
+            result.setText("Correct! Well done.");
+            setResultState(CORRECT);
+        } else {
+            result.setText("Incorrect. Correct answer: " + current.options().get(current.answer()));
+            setResultState(WRONG);
+        }
+        optionsBox.getChildren().forEach(option -> option.setDisable(true));
+        onAnswered.accept(correct);
+    }
+
+    private void setResultState(PseudoClass state) {
+        for (PseudoClass candidate : new PseudoClass[] { CORRECT, WRONG, UNANSWERED }) {
+            result.pseudoClassStateChanged(candidate, candidate == state);
+        }
+    }
+}
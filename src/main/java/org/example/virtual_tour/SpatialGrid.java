@@ -0,0 +1,145 @@
+package org.example.virtual_tour;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+// Uniform grid over axis-aligned item bounds. Point and rectangle queries only touch the cells they
+// cover, so hit-testing and culling cost depends on local density rather than the total item count.
+public class SpatialGrid {
+    private final double cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private double[] minX = new double[16];
+    private double[] minY = new double[16];
+    private double[] maxX = new double[16];
+    private double[] maxY = new double[16];
+    private int[] visitMarks = new int[16];
+    private int visitStamp;
+    private int count;
+    // Range of cells holding at least one item; queries never walk outside it
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    public SpatialGrid(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    // Items must be added with consecutive ids starting at 0
+    public void add(int id, double x, double y, double width, double height) {
+        if (id != count) {
+            throw new IllegalArgumentException("Expected id " + count + " but got " + id);
+        }
+        if (count == minX.length) {
+            int capacity = count * 2;
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+            visitMarks = Arrays.copyOf(visitMarks, capacity);
+        }
+        minX[id] = x;
+        minY[id] = y;
+        maxX[id] = x + width;
+        maxY[id] = y + height;
+        count++;
+
+        int left = cell(x);
+        int top = cell(y);
+        int right = cell(x + width);
+        int bottom = cell(y + height);
+        minCellX = Math.min(minCellX, left);
+        minCellY = Math.min(minCellY, top);
+        maxCellX = Math.max(maxCellX, right);
+        maxCellY = Math.max(maxCellY, bottom);
+        for (int cy = top; cy <= bottom; cy++) {
+            for (int cx = left; cx <= right; cx++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new Cell()).add(id);
+            }
+        }
+    }
+
+    // Topmost (last added) item whose bounds contain the point, or -1
+    public int hit(double x, double y) {
+        int cx = cell(x);
+        int cy = cell(y);
+        if (cx < minCellX || cx > maxCellX || cy < minCellY || cy > maxCellY) return -1;
+        Cell cell = cells.get(key(cx, cy));
+        if (cell == null) return -1;
+        for (int i = cell.size - 1; i >= 0; i--) {
+            int id = cell.ids[i];
+            if (x >= minX[id] && x <= maxX[id] && y >= minY[id] && y <= maxY[id]) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    // Visits every item intersecting the rectangle exactly once
+    public void query(double x, double y, double width, double height, IntConsumer visitor) {
+        int stamp = ++visitStamp;
+        double right = x + width;
+        double bottom = y + height;
+        // An oversized rectangle (e.g. an identity viewport before layout) only walks occupied cells
+        int fromX = Math.max(cell(x), minCellX);
+        int fromY = Math.max(cell(y), minCellY);
+        int toX = Math.min(cell(right), maxCellX);
+        int toY = Math.min(cell(bottom), maxCellY);
+        for (int cy = fromY; cy <= toY; cy++) {
+            for (int cx = fromX; cx <= toX; cx++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell == null) continue;
+                for (int i = 0; i < cell.size; i++) {
+                    int id = cell.ids[i];
+                    if (visitMarks[id] == stamp) continue;
+                    visitMarks[id] = stamp;
+                    if (maxX[id] >= x && minX[id] <= right && maxY[id] >= y && minY[id] <= bottom) {
+                        visitor.accept(id);
+                    }
+                }
+            }
+        }
+    }
+
+    public double getMinX(int id) {
+        return minX[id];
+    }
+
+    public double getMinY(int id) {
+        return minY[id];
+    }
+
+    public double getMaxX(int id) {
+        return maxX[id];
+    }
+
+    public double getMaxY(int id) {
+        return maxY[id];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static final class Cell {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.virtual_tour;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Properties;
+
+// Describes a map tile pyramid written by MapTileGenerator. Level levels()-1 is full resolution and
+// each level below it is half the size of the one above. A map without generated tiles is served as a
+// single-level set whose only tile is the original image.
+public class TileSet {
+    public static final String DESCRIPTOR = "tiles.properties";
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    private final String directory;
+    private final URL singleImage;
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final int levels;
+    private final String format;
+
+    private TileSet(String directory, URL singleImage, int width, int height, int tileSize, String format) {
+        this.directory = directory;
+        this.singleImage = singleImage;
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.levels = singleImage != null ? 1 : levelCount(width, height, tileSize);
+        this.format = format;
+    }
+
+    // "/images/map/maseru_map.jpg" -> tiles under "/tiles/maseru_map/"
+    public static TileSet forMap(String mapImagePath) {
+        String name = mapImagePath.substring(mapImagePath.lastIndexOf('/') + 1);
+        String directory = "/tiles/" + name.substring(0, name.lastIndexOf('.'));
+        try (InputStream in = TileSet.class.getResourceAsStream(directory + "/" + DESCRIPTOR)) {
+            if (in == null) return null;
+            Properties properties = new Properties();
+            properties.load(in);
+            return new TileSet(directory, null,
+                    Integer.parseInt(properties.getProperty("width")),
+                    Integer.parseInt(properties.getProperty("height")),
+                    Integer.parseInt(properties.getProperty("tileSize")),
+                    properties.getProperty("format"));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading map tiles: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static TileSet single(URL image, int width, int height) {
+        return new TileSet(null, image, width, height, Math.max(width, height), null);
+    }
+
+    public static int levelCount(int width, int height, int tileSize) {
+        int levels = 1;
+        int size = Math.max(width, height);
+        while (size > tileSize) {
+            size = (size + 1) / 2;
+            levels++;
+        }
+        return levels;
+    }
+
+    // Size of a dimension after halving it the given number of times, rounding up
+    public static int levelSize(int fullSize, int halvings) {
+        int size = fullSize;
+        for (int i = 0; i < halvings; i++) {
+            size = (size + 1) / 2;
+        }
+        return size;
+    }
+
+    public URL tileUrl(int level, int col, int row) {
+        if (singleImage != null) return singleImage;
+        String path = directory + "/" + level + "/" + col + "_" + row + "." + format;
+        URL packed = AssetPack.get().url(path);
+        return packed != null ? packed : TileSet.class.getResource(path);
+    }
+
+    public int levelWidth(int level) {
+        return levelSize(width, levels - 1 - level);
+    }
+
+    public int levelHeight(int level) {
+        return levelSize(height, levels - 1 - level);
+    }
+
+    public int columns(int level) {
+        return (levelWidth(level) + tileSize - 1) / tileSize;
+    }
+
+    public int rows(int level) {
+        return (levelHeight(level) + tileSize - 1) / tileSize;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.virtual_tour;
+
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Affine;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Pan/zoom map that draws only the visible tiles of a TileSet. Tiles are decoded in the background and
+// kept in a bounded LRU cache; while a tile loads, the nearest cached ancestor is drawn scaled up in its
+// place. Drag to pan, scroll to zoom. An optional HotspotLayer follows the viewport through a single
+// normalized-map-to-screen transform. A resize refits the map unless the visitor has zoomed in.
+public class TiledMapView extends Pane {
+    private static final double MAX_ZOOM = 2.0; // screen pixels per full-resolution map pixel
+    private static final double ZOOM_SPEED = 0.002;
+
+    private final TileSet tileSet;
+    private final ImageLoader loader;
+    private final Canvas canvas = new Canvas();
+    private final Map<Long, Image> cache;
+    private final Map<Long, ImageLoader.Request> pending = new HashMap<>();
+    private final Affine mapToScreen = new Affine();
+    private HotspotLayer overlay;
+
+    private double scale;
+    private double offsetX;
+    private double offsetY;
+    private boolean fitted;
+    private boolean zoomed;
+    private boolean redrawQueued;
+    private long revision;
+    private double dragX;
+    private double dragY;
+
+    public TiledMapView(TileSet tileSet, ImageLoader loader, int cachedTiles) {
+        this.tileSet = tileSet;
+        this.loader = loader;
+        this.cache = new LinkedHashMap<>(cachedTiles + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Image> eldest) {
+                return size() > cachedTiles;
+            }
+        };
+
+        getChildren().add(canvas);
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(widthProperty());
+        clip.heightProperty().bind(heightProperty());
+        setClip(clip);
+        setPrefSize(800, 500);
+
+        setOnScroll(e -> zoom(Math.exp(e.getDeltaY() * ZOOM_SPEED), e.getX(), e.getY()));
+        setOnMousePressed(e -> {
+            dragX = e.getX();
+            dragY = e.getY();
+        });
+        setOnMouseDragged(e -> {
+            setViewport(scale, offsetX + e.getX() - dragX, offsetY + e.getY() - dragY);
+            dragX = e.getX();
+            dragY = e.getY();
+        });
+    }
+
+    public void setOverlay(HotspotLayer overlay) {
+        this.overlay = overlay;
+        getChildren().add(overlay);
+        requestLayout();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        if (canvas.getWidth() == width && canvas.getHeight() == height && fitted) return;
+
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        if (overlay != null) {
+            overlay.setWidth(width);
+            overlay.setHeight(height);
+        }
+        if ((!fitted || !zoomed) && width > 0 && height > 0) {
+            fitted = true;
+            double fit = fitScale();
+            setViewport(fit, (width - tileSet.getWidth() * fit) / 2, (height - tileSet.getHeight() * fit) / 2);
+        } else {
+            setViewport(Math.max(scale, fitScale()), offsetX, offsetY);
+        }
+    }
+
+    private double fitScale() {
+        return Math.min(getWidth() / tileSet.getWidth(), getHeight() / tileSet.getHeight());
+    }
+
+    private void zoom(double factor, double pivotX, double pivotY) {
+        double fit = fitScale();
+        double next = Math.max(fit, Math.min(MAX_ZOOM, scale * factor));
+        double applied = next / scale;
+        zoomed = next > fit;
+        setViewport(next, pivotX - (pivotX - offsetX) * applied, pivotY - (pivotY - offsetY) * applied);
+    }
+
+    private void setViewport(double scale, double offsetX, double offsetY) {
+        this.scale = scale;
+        this.offsetX = clampOffset(offsetX, tileSet.getWidth() * scale, getWidth());
+        this.offsetY = clampOffset(offsetY, tileSet.getHeight() * scale, getHeight());
+        mapToScreen.setToTransform(tileSet.getWidth() * this.scale, 0, this.offsetX,
+                0, tileSet.getHeight() * this.scale, this.offsetY);
+        if (overlay != null) {
+            overlay.setViewport(mapToScreen);
+        }
+        redraw();
+    }
+
+    // Keeps the map covering the view, or centred when it is smaller than the view
+    private static double clampOffset(double offset, double content, double view) {
+        if (content <= view) {
+            return (view - content) / 2;
+        }
+        return Math.max(view - content, Math.min(0, offset));
+    }
+
+    private void requestRedraw() {
+        if (redrawQueued) return;
+        redrawQueued = true;
+        Platform.runLater(() -> {
+            redrawQueued = false;
+            redraw();
+        });
+    }
+
+    // Count of repaints, i.e. of changes to what the map shows
+    public long getRevision() {
+        return revision;
+    }
+
+    private void redraw() {
+        revision++;
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (scale <= 0) return;
+
+        int level = levelFor(scale * getOutputScale());
+        // Map pixels per tile-level pixel at this level
+        double levelToMap = (double) tileSet.getWidth() / tileSet.levelWidth(level);
+        double tileOnScreen = tileSet.getTileSize() * levelToMap * scale;
+
+        int firstCol = Math.max(0, (int) Math.floor(-offsetX / tileOnScreen));
+        int firstRow = Math.max(0, (int) Math.floor(-offsetY / tileOnScreen));
+        int lastCol = Math.min(tileSet.columns(level) - 1, (int) Math.floor((getWidth() - offsetX) / tileOnScreen));
+        int lastRow = Math.min(tileSet.rows(level) - 1, (int) Math.floor((getHeight() - offsetY) / tileOnScreen));
+
+        Set<Long> wanted = new HashSet<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                long key = key(level, col, row);
+                wanted.add(key);
+                double x = offsetX + col * tileOnScreen;
+                double y = offsetY + row * tileOnScreen;
+                Image tile = cache.get(key);
+                if (tile != null) {
+                    gc.drawImage(tile, x, y, tile.getWidth() * levelToMap * scale, tile.getHeight() * levelToMap * scale);
+                } else {
+                    drawAncestor(gc, level, col, row, x, y, tileOnScreen);
+                    load(key, level, col, row);
+                }
+            }
+        }
+
+        // Tiles that scrolled out of view before decoding are not worth finishing
+        Iterator<Map.Entry<Long, ImageLoader.Request>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, ImageLoader.Request> entry = it.next();
+            if (!wanted.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                it.remove();
+            }
+        }
+    }
+
+    private void drawAncestor(GraphicsContext gc, int level, int col, int row, double x, double y, double tileOnScreen) {
+        int tileSize = tileSet.getTileSize();
+        for (int up = 1; up <= level; up++) {
+            Image parent = cache.get(key(level - up, col >> up, row >> up));
+            if (parent == null) continue;
+            // Portion of the parent covering this tile
+            double part = (double) tileSize / (1 << up);
+            double sx = (col - ((col >> up) << up)) * part;
+            double sy = (row - ((row >> up) << up)) * part;
+            double sw = Math.min(part, parent.getWidth() - sx);
+            double sh = Math.min(part, parent.getHeight() - sy);
+            if (sw <= 0 || sh <= 0) return;
+            gc.drawImage(parent, sx, sy, sw, sh, x, y, sw / part * tileOnScreen, sh / part * tileOnScreen);
+            return;
+        }
+    }
+
+    private void load(long key, int level, int col, int row) {
+        if (pending.containsKey(key)) return;
+        pending.put(key, loader.load(tileSet.tileUrl(level, col, row), 0, image -> {
+            pending.remove(key);
+            cache.put(key, image);
+            requestRedraw();
+        }, ex -> {
+            pending.remove(key);
+            System.err.println("Error loading map tile: " + ex.getMessage());
+        }));
+    }
+
+    // Lowest level whose resolution still covers the requested screen scale
+    private int levelFor(double screenScale) {
+        int top = tileSet.getLevels() - 1;
+        for (int level = 0; level < top; level++) {
+            if ((double) tileSet.levelWidth(level) / tileSet.getWidth() >= screenScale) {
+                return level;
+            }
+        }
+        return top;
+    }
+
+    private double getOutputScale() {
+        return getScene() != null && getScene().getWindow() != null ? getScene().getWindow().getOutputScaleX() : 1;
+    }
+
+    private static long key(int level, int col, int row) {
+        return ((long) level << 48) | ((long) col << 24) | row;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.virtual_tour;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cities and their landmarks, loaded once at startup from the catalog (see TourCatalogIO for the formats).
+// A catalog outside the jar can be supplied with -Dtour.catalog=<file.json|file.bin> to ship new tours
+// without recompiling.
+public class TourCatalog {
+    public static final String BINARY_RESOURCE = "/catalog/tours.bin";
+    public static final String JSON_RESOURCE = "/catalog/tours.json";
+
+    public record QuizQuestion(String question, List<String> options, int answer) {
+    }
+
+    // x and y are normalized map coordinates: 0..1 across the map image's width and height
+    public record Landmark(int index, String id, String name, double x, double y, String color,
+                           double videoStart, double videoEnd, List<QuizQuestion> quizzes) {
+    }
+
+    public record City(String id, String name, String mapImage, String video, List<Landmark> landmarks) {
+    }
+
+    private final List<City> cities;
+    private final Map<String, City> citiesById = new HashMap<>();
+    private final Map<String, Map<String, Landmark>> landmarksById = new HashMap<>();
+
+    public TourCatalog(List<City> cities) {
+        this.cities = Collections.unmodifiableList(cities);
+        for (City city : cities) {
+            citiesById.put(city.id(), city);
+            Map<String, Landmark> byId = new HashMap<>(city.landmarks().size() * 2);
+            for (Landmark landmark : city.landmarks()) {
+                byId.put(landmark.id(), landmark);
+            }
+            landmarksById.put(city.id(), byId);
+        }
+    }
+
+    public static TourCatalog load() {
+        String external = System.getProperty("tour.catalog");
+        try {
+            if (external != null) {
+                Path path = Path.of(external);
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+                    return external.endsWith(".bin") ? TourCatalogIO.readBinary(in) : TourCatalogIO.readJson(in);
+                }
+            }
+            try (InputStream in = TourCatalog.class.getResourceAsStream(BINARY_RESOURCE)) {
+                if (in != null) {
+                    return TourCatalogIO.readBinary(new BufferedInputStream(in));
+                }
+            }
+            try (InputStream in = TourCatalog.class.getResourceAsStream(JSON_RESOURCE)) {
+                if (in != null) {
+                    return TourCatalogIO.readJson(in);
+                }
+            }
+            System.err.println("Tour catalog not found");
+        } catch (IOException e) {
+            System.err.println("Error loading tour catalog: " + e.getMessage());
+        }
+        return new TourCatalog(List.of());
+    }
+
+    public List<City> getCities() {
+        return cities;
+    }
+
+    // The named city, or the first one when id is null or unknown
+    public City city(String id) {
+        City city = id == null ? null : citiesById.get(id);
+        if (city == null && !cities.isEmpty()) {
+            city = cities.get(0);
+        }
+        return city;
+    }
+
+    public Landmark landmark(String cityId, String landmarkId) {
+        Map<String, Landmark> byId = landmarksById.get(cityId);
+        return byId == null ? null : byId.get(landmarkId);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.virtual_tour;
+
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// Build step (process-classes): compiles the JSON tour catalog into the binary form loaded at startup.
+// Usage: TourCatalogCompiler <catalog.json> <catalog.bin>
+public class TourCatalogCompiler {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: TourCatalogCompiler <catalog.json> <catalog.bin>");
+        }
+        TourCatalog catalog;
+        try (InputStream in = new FileInputStream(args[0])) {
+            catalog = TourCatalogIO.readJson(in);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[1]))) {
+            TourCatalogIO.writeBinary(catalog, out);
+        }
+        int landmarks = catalog.getCities().stream().mapToInt(city -> city.landmarks().size()).sum();
+        System.out.println("Tour catalog compiled: " + catalog.getCities().size() + " cities, " + landmarks + " landmarks");
+    }
+}
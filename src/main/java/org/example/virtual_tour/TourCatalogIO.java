@@ -0,0 +1,303 @@
+package org.example.virtual_tour;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads and writes the tour catalog.
+//
+// JSON (authoring format), read with a streaming parser so no document tree is built:
+//   {"cities": [{"id", "name", "map", "mapSize": [width, height], "video", "landmarks": [
+//       {"id", "name", "position": [x, y], "color", "video": [start, end],
+//        "quizzes": [{"question", "options": [...], "answer": <0-based index>}, ...]}]}]}
+//   A single "quiz": {...} object is still accepted as a one-question bank. Positions are normalized map
+//   coordinates (0..1); pixel "x" and "y" are accepted when the city gives the "mapSize" they refer to.
+//
+// Binary (compiled by TourCatalogCompiler at build time):
+//   int magic, int version, int cityCount, then per city:
+//   UTF id, UTF name, UTF map, UTF video, int landmarkCount, then per landmark:
+//   UTF id, UTF name, double x, double y (normalized), UTF color, double videoStart, double videoEnd,
+//   int quizCount, then per question: UTF question, int optionCount, UTF option..., int answer
+public final class TourCatalogIO {
+    private static final int MAGIC = 0x56544331; // "VTC1"
+    private static final int VERSION = 3;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private TourCatalogIO() {
+    }
+
+    public static TourCatalog readJson(InputStream in) throws IOException {
+        List<TourCatalog.City> cities = new ArrayList<>();
+        try (JsonParser parser = JSON.createParser(in)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (field.equals("cities")) {
+                    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        cities.add(readCity(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new TourCatalog(cities);
+    }
+
+    private static TourCatalog.City readCity(JsonParser parser) throws IOException {
+        String id = null;
+        String name = null;
+        String map = null;
+        String video = null;
+        double mapWidth = 0;
+        double mapHeight = 0;
+        List<ParsedLandmark> parsed = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getText();
+                case "name" -> name = parser.getText();
+                case "map" -> map = parser.getText();
+                case "video" -> video = parser.getText();
+                case "mapSize" -> {
+                    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                    parser.nextToken();
+                    mapWidth = parser.getDoubleValue();
+                    parser.nextToken();
+                    mapHeight = parser.getDoubleValue();
+                    expect(parser, parser.nextToken(), JsonToken.END_ARRAY);
+                }
+                case "landmarks" -> {
+                    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        parsed.add(readLandmark(parser, parsed.size()));
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        require(parser, id, "city id");
+
+        // Pixel positions can only be normalized once the whole city, including mapSize, has been read
+        List<TourCatalog.Landmark> landmarks = new ArrayList<>(parsed.size());
+        for (ParsedLandmark entry : parsed) {
+            TourCatalog.Landmark landmark = entry.landmark();
+            if (entry.pixels()) {
+                if (mapWidth <= 0 || mapHeight <= 0) {
+                    throw new IOException("Pixel position without mapSize for landmark: " + landmark.id());
+                }
+                landmark = new TourCatalog.Landmark(landmark.index(), landmark.id(), landmark.name(),
+                        landmark.x() / mapWidth, landmark.y() / mapHeight, landmark.color(),
+                        landmark.videoStart(), landmark.videoEnd(), landmark.quizzes());
+            }
+            if (landmark.x() < 0 || landmark.x() > 1 || landmark.y() < 0 || landmark.y() > 1) {
+                throw new IOException("Position outside the map for landmark: " + landmark.id());
+            }
+            landmarks.add(landmark);
+        }
+        return new TourCatalog.City(id, name != null ? name : id, map, video, List.copyOf(landmarks));
+    }
+
+    private record ParsedLandmark(TourCatalog.Landmark landmark, boolean pixels) {
+    }
+
+    private static ParsedLandmark readLandmark(JsonParser parser, int index) throws IOException {
+        String id = null;
+        String name = null;
+        double x = 0;
+        double y = 0;
+        boolean pixels = false;
+        String color = "#3498db";
+        double videoStart = 0;
+        double videoEnd = 0;
+        List<TourCatalog.QuizQuestion> quizzes = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getText();
+                case "name" -> name = parser.getText();
+                case "position" -> {
+                    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                    parser.nextToken();
+                    x = parser.getDoubleValue();
+                    parser.nextToken();
+                    y = parser.getDoubleValue();
+                    expect(parser, parser.nextToken(), JsonToken.END_ARRAY);
+                }
+                case "x" -> {
+                    x = parser.getDoubleValue();
+                    pixels = true;
+                }
+                case "y" -> {
+                    y = parser.getDoubleValue();
+                    pixels = true;
+                }
+                case "color" -> color = parser.getText();
+                case "video" -> {
+                    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                    parser.nextToken();
+                    videoStart = parser.getDoubleValue();
+                    parser.nextToken();
+                    videoEnd = parser.getDoubleValue();
+                    expect(parser, parser.nextToken(), JsonToken.END_ARRAY);
+                }
+                case "quiz" -> quizzes.add(readQuiz(parser));
+                case "quizzes" -> {
+                    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        quizzes.add(readQuiz(parser));
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        require(parser, id, "landmark id");
+        return new ParsedLandmark(new TourCatalog.Landmark(index, id, name != null ? name : id, x, y, color,
+                videoStart, videoEnd, List.copyOf(quizzes)), pixels);
+    }
+
+    private static TourCatalog.QuizQuestion readQuiz(JsonParser parser) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+        String question = null;
+        List<String> options = new ArrayList<>();
+        int answer = -1;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "question" -> question = parser.getText();
+                case "options" -> {
+                    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        options.add(parser.getText());
+                    }
+                }
+                case "answer" -> answer = parser.getIntValue();
+                default -> parser.skipChildren();
+            }
+        }
+        require(parser, question, "quiz question");
+        if (options.size() < 2) {
+            throw new IOException("Quiz needs at least two options: " + question);
+        }
+        if (answer < 0 || answer >= options.size()) {
+            throw new IOException("Quiz answer out of range for: " + question);
+        }
+        return new TourCatalog.QuizQuestion(question, List.copyOf(options), answer);
+    }
+
+    public static TourCatalog readBinary(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a tour catalog");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported tour catalog version: " + version);
+        }
+
+        int cityCount = in.readInt();
+        List<TourCatalog.City> cities = new ArrayList<>(cityCount);
+        for (int c = 0; c < cityCount; c++) {
+            String id = in.readUTF();
+            String name = in.readUTF();
+            String map = emptyToNull(in.readUTF());
+            String video = emptyToNull(in.readUTF());
+
+            int landmarkCount = in.readInt();
+            List<TourCatalog.Landmark> landmarks = new ArrayList<>(landmarkCount);
+            for (int i = 0; i < landmarkCount; i++) {
+                String landmarkId = in.readUTF();
+                String landmarkName = in.readUTF();
+                double x = in.readDouble();
+                double y = in.readDouble();
+                String color = in.readUTF();
+                double videoStart = in.readDouble();
+                double videoEnd = in.readDouble();
+                int quizCount = in.readInt();
+                List<TourCatalog.QuizQuestion> quizzes = new ArrayList<>(quizCount);
+                for (int q = 0; q < quizCount; q++) {
+                    String question = in.readUTF();
+                    int optionCount = in.readInt();
+                    List<String> options = new ArrayList<>(optionCount);
+                    for (int o = 0; o < optionCount; o++) {
+                        options.add(in.readUTF());
+                    }
+                    quizzes.add(new TourCatalog.QuizQuestion(question, List.copyOf(options), in.readInt()));
+                }
+                landmarks.add(new TourCatalog.Landmark(i, landmarkId, landmarkName, x, y, color,
+                        videoStart, videoEnd, List.copyOf(quizzes)));
+            }
+            cities.add(new TourCatalog.City(id, name, map, video, List.copyOf(landmarks)));
+        }
+        return new TourCatalog(cities);
+    }
+
+    public static void writeBinary(TourCatalog catalog, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(catalog.getCities().size());
+        for (TourCatalog.City city : catalog.getCities()) {
+            out.writeUTF(city.id());
+            out.writeUTF(city.name());
+            out.writeUTF(nullToEmpty(city.mapImage()));
+            out.writeUTF(nullToEmpty(city.video()));
+            out.writeInt(city.landmarks().size());
+            for (TourCatalog.Landmark landmark : city.landmarks()) {
+                out.writeUTF(landmark.id());
+                out.writeUTF(landmark.name());
+                out.writeDouble(landmark.x());
+                out.writeDouble(landmark.y());
+                out.writeUTF(landmark.color());
+                out.writeDouble(landmark.videoStart());
+                out.writeDouble(landmark.videoEnd());
+                out.writeInt(landmark.quizzes().size());
+                for (TourCatalog.QuizQuestion quiz : landmark.quizzes()) {
+                    out.writeUTF(quiz.question());
+                    out.writeInt(quiz.options().size());
+                    for (String option : quiz.options()) {
+                        out.writeUTF(option);
+                    }
+                    out.writeInt(quiz.answer());
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + parser.currentLocation());
+        }
+    }
+
+    private static void require(JsonParser parser, String value, String what) throws IOException {
+        if (value == null) {
+            throw new IOException("Missing " + what + " at " + parser.currentLocation());
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
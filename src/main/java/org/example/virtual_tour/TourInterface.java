@@ -3,7 +3,6 @@ package org.example.virtual_tour;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -11,32 +10,28 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaView;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Circle;
+import javafx.scene.transform.Transform;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.SourceDataLine;
-import java.awt.*;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Random;
 
 public class TourInterface {
-    private ImageView mapView;
+    private static final String MAP_SNAPSHOT_KEY = "map";
+
+    private TiledMapView mapView;
     private ImageView landmarkView;
     private MediaView mediaView;
-    private MediaPlayer mediaPlayer;
-    private MediaPlayer audioPlayer;
+    private volatile VideoEngine videoEngine;
+    private boolean videoActive = false;
     private Button playBtn;
     private Button playAudioBtn;
     private Button viewImagesBtn;
@@ -44,7 +39,7 @@ public class TourInterface {
     private Button stopVideoBtn;
     private Button endVideoBtn;
     private Button goToQuizBtn;
-    private VBox quizBox;
+    private QuizView quizView;
     private Pane mapPane;
     private HBox titleBox;
     private Label titleLabel;
@@ -54,276 +49,366 @@ public class TourInterface {
     private boolean audioPlaying = false;
     private boolean videoPlaying = false;
     private StackPane contentPane; // Added to reference the content pane
+    private final TourServices services;
+    private final ImageLoader imageLoader;
+    private final ImageLoader tileLoader;
+    private ImageLoader.Request landmarkImageRequest;
+    private boolean landmarkImageLoaded;
+    private TransitionCache transitions;
+    private ImageGallery imageGallery;
+    private final AssetManifest assetManifest;
+    private final AssetManifest.LandmarkAssets[] landmarkAssets;
+    private volatile NarrationPlayerPool narrationPool;
+    private final UiScheduler.Group uiTasks;
+    private final QuizBank quizBank;
+    private final TourMetrics metrics = TourMetrics.get();
+    private final InteractionLog interactions = InteractionLog.get();
+    private final int session = interactions.newSession();
+    private long landmarkSelectedAt;
+    private long audioStartedAt;
+    private Image placeholderImage;
+
+    private final TourCatalog.City city;
+    private final List<TourCatalog.Landmark> landmarks;
+    private final Color[] hotspotColors;
+
+    private HotspotLayer hotspotLayer;
+    private ViewStateMachine viewState;
+    private LandmarkPrefetcher prefetcher;
+
+    public TourInterface(TourCatalog.City city) {
+        this(city, new TourServices());
+    }
 
-    private final String[] landmarks = {
-            "Mokorotlong", "Royal Palace",
-            "Setsoto Stadium", "Parliament"
-    };
-
-    private final double[][] videoSegments = {
-            {46, 110}, {240, 280}, {367, 410}, {484, 542}
-    };
+    // Sessions created with the same services share decoded images, the asset index and feedback audio
+    public TourInterface(TourCatalog.City city, TourServices services) {
+        this.city = city;
+        this.landmarks = city.landmarks();
+        this.services = services;
+        this.imageLoader = services.getImageLoader();
+        this.tileLoader = services.getTileLoader();
+        this.assetManifest = services.getAssetManifest();
+        this.uiTasks = services.getUiScheduler().newGroup();
+        this.quizBank = new QuizBank(landmarks, new Random());
+
+        hotspotColors = new Color[landmarks.size()];
+        landmarkAssets = new AssetManifest.LandmarkAssets[landmarks.size()];
+        for (TourCatalog.Landmark landmark : landmarks) {
+            hotspotColors[landmark.index()] = Color.web(landmark.color());
+            landmarkAssets[landmark.index()] = assetManifest.landmark(landmark.id());
+            if (landmarkAssets[landmark.index()] == null) {
+                System.err.println("No assets in manifest for: " + landmark.name());
+            }
+        }
+    }
 
-    private final String[][] quizData = {
-            {"What is Mokorotlong known for?", "Cultural center", "Mining area", "Government offices", "1"},
-            {"When was the Royal Palace built?", "1800s", "1900s", "2000s", "2"},
-            {"What is Setsoto Stadium's capacity?", "10,000", "20,000", "30,000", "2"},
-            {"How many Parliament seats?", "80", "120", "150", "2"}
-    };
+    public String getHomeTitle() {
+        return city.name() + " Virtual Tour Guide";
+    }
 
-    private List<Circle> hotspotCircles = new ArrayList<>();
-    private List<HBox> hotspotLabels = new ArrayList<>();
+    // Narration and video players currently open, for leak checks; safe to call from any thread
+    public int getLiveMediaPlayerCount() {
+        NarrationPlayerPool narration = narrationPool;
+        VideoEngine video = videoEngine;
+        return (narration != null ? narration.size() : 0) + (video != null ? video.getPlayerCount() : 0);
+    }
 
     public Pane createInterface(Stage stage) {
         this.primaryStage = stage;
 
         // Setup title label and restart button (initially hidden)
-        titleLabel = new Label("MASERU");
-        titleLabel.setStyle("-fx-font-size: 32px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
+        titleLabel = new Label(city.name().toUpperCase());
+        titleLabel.getStyleClass().add("title");
 
         restartBtn = new Button("BacK to Map");
-        styleButton(restartBtn, "#e74c3c");
-        restartBtn.setVisible(false);
-        restartBtn.setOnAction(e -> resetView());
+        styleButton(restartBtn, "back-button");
+        restartBtn.setOnAction(e -> metrics.time(TourMetrics.Action.RESET_VIEW, this::resetView));
 
         titleBox = new HBox(10, titleLabel, restartBtn);
         titleBox.setAlignment(Pos.CENTER_LEFT);
         titleBox.setPadding(new Insets(0, 0, 10, 20));
 
+        // Media and quiz views are built on first use, see narrationPool(), videoEngine() and quizView()
         setupMap();
         setupLandmarkView();
-        setupMediaView();
         setupButtons();
-        setupQuizBox();
         createHotspots();
 
         // Main layout
-        contentPane = new StackPane(mapPane, landmarkView, mediaView);
+        contentPane = new StackPane(mapPane, landmarkView);
         contentPane.setAlignment(Pos.TOP_CENTER);
+        VBox.setVgrow(contentPane, Priority.ALWAYS);
+
+        // -Dtour.snapshotCache=<MB> bounds the view snapshots, -Dtour.crossfade=<ms> their fade (0 cuts)
+        transitions = new TransitionCache(contentPane, Long.getLong("tour.snapshotCache", 32) * 1024 * 1024,
+                Duration.millis(Long.getLong("tour.crossfade", 150)));
+        contentPane.getChildren().add(transitions.getCover());
 
         // Reordered buttons to group related ones together
         HBox buttonBox = new HBox(10, playAudioBtn, viewImagesBtn, goToQuizBtn, playBtn, stopVideoBtn, endVideoBtn);
         buttonBox.setAlignment(Pos.CENTER);
 
-        VBox mainBox = new VBox(5, titleBox, contentPane, buttonBox, quizBox); // Add quizBox here
+        VBox mainBox = new VBox(5, titleBox, contentPane, buttonBox);
         mainBox.setAlignment(Pos.TOP_CENTER);
         mainBox.setPadding(new Insets(10));
-        mainBox.setStyle("-fx-background-color: #ecf0f1;");
+        mainBox.getStyleClass().add("tour-root");
+        mainBox.getStylesheets().add(TourInterface.class.getResource("/styles/tour.css").toExternalForm());
+        viewState = new ViewStateMachine(mainBox, ViewState.MAP);
+        metrics.trackScene(mainBox);
+        metrics.registerMediaPlayers(this::getLiveMediaPlayerCount);
 
         return mainBox;
     }
 
     private void setupMap() {
-        try {
-            URL mapUrl = getClass().getResource("/images/map/maseru_map.jpg");
-            if (mapUrl != null) {
-                mapView = new ImageView(new Image(mapUrl.toString()));
-                mapView.setPreserveRatio(true);
-                mapView.setFitWidth(primaryStage.getWidth());
-                mapPane = new Pane();
-                mapPane.getChildren().add(mapView);
-            } else {
-                throw new RuntimeException("Map image not found");
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading map: " + e.getMessage());
+        AssetManifest.Asset mapAsset = assetManifest.asset(city.mapImage());
+        TileSet tileSet = TileSet.forMap(city.mapImage());
+        if (tileSet == null && mapAsset != null && mapAsset.width() > 0) {
+            // No generated tiles: serve the whole image as a single tile
+            tileSet = TileSet.single(assetManifest.url(mapAsset), mapAsset.width(), mapAsset.height());
+        }
+        if (tileSet != null) {
+            mapView = new TiledMapView(tileSet, tileLoader, 128);
+            mapPane = mapView;
+        } else {
+            System.err.println("Error loading map: Map image not found");
             mapPane = new Pane(new Label("Map image not found"));
         }
     }
 
     private void setupLandmarkView() {
+        placeholderImage = services.getPlaceholderImage();
         landmarkView = new ImageView();
         landmarkView.setPreserveRatio(true);
         landmarkView.setFitWidth(700);
-        landmarkView.setVisible(false);
+        landmarkView.getStyleClass().add("landmark-image");
     }
 
-    private void setupMediaView() {
-        mediaView = new MediaView();
-        mediaView.setFitWidth(700);
-        mediaView.setPreserveRatio(true);
-        mediaView.setVisible(false);
+    // Built by the first PLAY AUDIO, not by selecting or hovering a landmark
+    private NarrationPlayerPool narrationPool() {
+        if (narrationPool == null) {
+            narrationPool = new NarrationPlayerPool(3);
+        }
+        return narrationPool;
+    }
+
+    // Built by the first PLAY VIDEO, not by selecting or hovering a landmark
+    private VideoEngine videoEngine() {
+        if (videoEngine == null) {
+            mediaView = new MediaView();
+            mediaView.setFitWidth(700);
+            mediaView.setPreserveRatio(true);
+            mediaView.getStyleClass().add("video-view");
+            contentPane.getChildren().add(contentPane.getChildren().indexOf(landmarkView) + 1, mediaView);
+            videoEngine = new VideoEngine(mediaView, assetManifest.url(assetManifest.asset(city.video())));
+        }
+        return videoEngine;
     }
 
     private void setupButtons() {
         playBtn = new Button("PLAY VIDEO");
-        styleButton(playBtn, "#2c3e50");
-        playBtn.setVisible(false);
-        playBtn.setOnAction(e -> playVideo());
+        styleButton(playBtn, "play-video-button", "landmark-action");
+        playBtn.setOnAction(e -> metrics.time(TourMetrics.Action.PLAY_VIDEO, this::playVideo));
 
         playAudioBtn = new Button("PLAY AUDIO");
-        styleButton(playAudioBtn, "#3498db");
-        playAudioBtn.setVisible(false);
+        styleButton(playAudioBtn, "play-audio-button", "landmark-action");
         playAudioBtn.setOnAction(e -> toggleAudio());
 
         viewImagesBtn = new Button("VIEW IMAGES");
-        styleButton(viewImagesBtn, "#9b59b6");
-        viewImagesBtn.setVisible(false);
-        viewImagesBtn.setOnAction(e -> showImageGallery());
+        styleButton(viewImagesBtn, "view-images-button", "landmark-action");
+        viewImagesBtn.setOnAction(e -> metrics.time(TourMetrics.Action.SHOW_IMAGE_GALLERY, this::showImageGallery));
 
         goToQuizBtn = new Button("GO TO QUIZ");
-        styleButton(goToQuizBtn, "#27ae60");
-        goToQuizBtn.setVisible(false);
-        goToQuizBtn.setOnAction(e -> showQuiz());
+        styleButton(goToQuizBtn, "quiz-button", "landmark-action");
+        goToQuizBtn.setOnAction(e -> metrics.time(TourMetrics.Action.SHOW_QUIZ, this::showQuiz));
 
         stopVideoBtn = new Button("PAUSE");
-        styleButton(stopVideoBtn, "#e74c3c");
-        stopVideoBtn.setVisible(false);
+        styleButton(stopVideoBtn, "pause-video-button", "video-action");
         stopVideoBtn.setOnAction(e -> stopVideo());
 
         endVideoBtn = new Button("END VIDEO");
-        styleButton(endVideoBtn, "#e67e22");
-        endVideoBtn.setVisible(false);
+        styleButton(endVideoBtn, "end-video-button", "video-action");
         endVideoBtn.setOnAction(e -> {
             stopVideo();
-            showQuiz();
+            metrics.time(TourMetrics.Action.SHOW_QUIZ, this::showQuiz);
         });
     }
 
-    private void styleButton(Button btn, String color) {
-        btn.setStyle("-fx-font-size: 16px; -fx-padding: 8 15; -fx-background-color: " + color +
-                "; -fx-text-fill: white; -fx-background-radius: 5;");
+    private void styleButton(Button btn, String... styleClasses) {
+        btn.getStyleClass().add("tour-button");
+        btn.getStyleClass().addAll(styleClasses);
     }
 
-    private void setupQuizBox() {
-        quizBox = new VBox(10);
-        quizBox.setAlignment(Pos.CENTER);
-        quizBox.setPadding(new Insets(15));
-        quizBox.setVisible(false);
-        quizBox.setMaxWidth(600);
-        quizBox.setStyle("-fx-background-color: rgba(255,255,255,0.9); " +
-                "-fx-background-radius: 10; " +
-                "-fx-border-color: #3498db; " +
-                "-fx-border-radius: 10; " +
-                "-fx-border-width: 2;");
+    private QuizView quizView() {
+        if (quizView == null) {
+            quizView = new QuizView();
+            StackPane.setAlignment(quizView, Pos.CENTER);
+            StackPane.setMargin(quizView, new Insets(20));
+            contentPane.getChildren().add(quizView);
+        }
+        return quizView;
     }
 
     private void createHotspots() {
-        double[][] positions = {{485, 355}, {520, 300}, {722, 330}, {630, 460}};
-        String[] colors = {"#e74c3c", "#3498db", "#2ecc71", "#f39c12"};
-
-        for (int i = 0; i < landmarks.length; i++) {
-            Circle spot = new Circle(10, Color.web(colors[i]));
-            spot.setOpacity(0.7);
-            spot.setCenterX(positions[i][0]);
-            spot.setCenterY(positions[i][1]);
-            hotspotCircles.add(spot);
-
-            HBox hotspotLabel = createHotspotLabel(landmarks[i], i);
-            hotspotLabel.setLayoutX(positions[i][0] + 20);
-            hotspotLabel.setLayoutY(positions[i][1] - 10);
-            hotspotLabels.add(hotspotLabel);
-
-            final int index = i;
-            spot.setOnMouseClicked(e -> toggleLandmark(index));
-            hotspotLabel.setOnMouseClicked(e -> toggleLandmark(index));
-
-            setHoverEffects(spot, hotspotLabel, colors[i]);
+        hotspotLayer = new HotspotLayer(landmarks, hotspotColors);
+        hotspotLayer.setOnSelect(this::toggleLandmark);
+        prefetcher = new LandmarkPrefetcher(imageLoader, this::landmarkImageUrl, this::prefetchLandmarkMedia, 2);
+        hotspotLayer.setOnHover(prefetcher::hover);
+
+        for (TourCatalog.Landmark landmark : landmarks) {
+            if (landmarkAssets[landmark.index()] != null && !landmarkAssets[landmark.index()].gallery().isEmpty()) {
+                hotspotLayer.setIcon(landmark.index(), placeholderImage);
+            }
+        }
+        // Icons are queued once the window is up so they do not compete with the first frame
+        Platform.runLater(this::loadHotspotIcons);
 
-            mapPane.getChildren().addAll(spot, hotspotLabel);
+        if (mapView != null) {
+            mapView.setOverlay(hotspotLayer);
+        } else {
+            hotspotLayer.setWidth(800);
+            hotspotLayer.setHeight(500);
+            hotspotLayer.setViewport(Transform.scale(800, 500));
+            mapPane.getChildren().add(hotspotLayer);
         }
     }
 
-    private HBox createHotspotLabel(String name, int index) {
-        try {
-            String firstImagePath = "/images/" + name.toLowerCase().replace(" ", "_") + "/1.jpg";
-            URL imageUrl = getClass().getResource(firstImagePath);
-            ImageView icon = new ImageView(imageUrl != null ? new Image(imageUrl.toString()) : null);
-            icon.setFitWidth(20);
-            icon.setFitHeight(20);
-
-            Label label = new Label(name);
-            label.setStyle("-fx-text-fill: #3498db; -fx-font-weight: bold;");
+    private void loadHotspotIcons() {
+        for (TourCatalog.Landmark landmark : landmarks) {
+            int index = landmark.index();
+            AssetManifest.LandmarkAssets assets = landmarkAssets[index];
+            URL iconUrl = assets == null || assets.gallery().isEmpty() ? null
+                    : assetManifest.imageUrl(assets.gallery().get(0), 20 * primaryStage.getOutputScaleX());
+            if (iconUrl != null) {
+                imageLoader.load(iconUrl, 0, icon -> hotspotLayer.setIcon(index, icon),
+                        ex -> System.err.println("Error loading icon: " + ex.getMessage()));
+            }
+        }
+    }
 
-            return new HBox(5, icon, label);
-        } catch (Exception e) {
-            return new HBox(new Label(name));
+    private void toggleLandmark(int index) {
+        if (landmarkSelected && currentLandmark == index) {
+            metrics.time(TourMetrics.Action.RESET_VIEW, this::resetView);
+        } else {
+            prefetcher.selected(index);
+            metrics.time(TourMetrics.Action.SELECT_LANDMARK, () -> selectLandmark(index));
         }
     }
 
-    private void setHoverEffects(Circle spot, HBox label, String color) {
-        spot.setOnMouseEntered(e -> {
-            spot.setOpacity(1);
-            label.setStyle("-fx-background-color: rgba(0,0,0,0.1); -fx-background-radius: 5;");
-        });
+    // Same URL and width as selectLandmark, so a prefetched decode is a cache hit there
+    private URL landmarkImageUrl(int index) {
+        AssetManifest.Asset image = landmarkAssets[index] == null ? null : landmarkAssets[index].mainImage();
+        return assetManifest.imageUrl(image, landmarkView.getFitWidth() * primaryStage.getOutputScaleX());
+    }
 
-        spot.setOnMouseExited(e -> {
-            if (!landmarkSelected || currentLandmark != hotspotCircles.indexOf(spot)) {
-                spot.setOpacity(0.7);
-                label.setStyle("");
+    // Opens the narration and seeks the video ahead of selection (or of PLAY AUDIO / PLAY VIDEO), once the
+    // visitor has used audio or video at all
+    private void prepareLandmarkMedia(int index) {
+        if (videoEngine != null) {
+            cueVideo(index);
+        }
+        URL audioUrl = audioUrl(index);
+        if (narrationPool != null && audioUrl != null) {
+            try {
+                narrationPool.prepare(landmarkAssets[index].slug(), audioUrl);
+            } catch (Exception e) {
+                System.err.println("Error preparing audio: " + e.getMessage());
             }
-        });
+        }
     }
 
-    private void toggleLandmark(int index) {
-        if (landmarkSelected && currentLandmark == index) {
-            resetView();
-        } else {
-            selectLandmark(index);
+    // Hotspots stay hoverable over the other views, where re-cueing the shared video player or growing the
+    // narration pool would disturb the media in use; there only the image is prefetched
+    private void prefetchLandmarkMedia(int index) {
+        if (viewState.getState() == ViewState.MAP) {
+            prepareLandmarkMedia(index);
         }
     }
 
     private void selectLandmark(int index) {
+        captureView();
+        transitions.cover(landmarkSnapshotKey(index));
+        uiTasks.cancelPending();
         currentLandmark = index;
         landmarkSelected = true;
+        landmarkSelectedAt = System.nanoTime();
+        interactions.record(session, InteractionLog.Kind.LANDMARK_SELECTED, index, 0);
 
         // Reset media states
         videoPlaying = false;
         audioPlaying = false;
 
-        primaryStage.setTitle("Maseru - " + landmarks[index]);
-        titleLabel.setText(landmarks[index].toUpperCase());
-        restartBtn.setVisible(true);
+        primaryStage.setTitle(city.name() + " - " + landmarks.get(index).name());
+        titleLabel.setText(landmarks.get(index).name().toUpperCase());
 
-        for (int i = 0; i < hotspotCircles.size(); i++) {
-            Circle spot = hotspotCircles.get(i);
-            if (i == index) {
-                spot.setOpacity(1);
-                spot.setFill(Color.GREEN);
-            } else {
-                String[] colors = {"#e74c3c", "#3498db", "#2ecc71", "#f39c12"};
-                spot.setFill(Color.web(colors[i]));
-                spot.setOpacity(0.7);
-            }
-        }
+        hotspotLayer.setSelected(index);
 
+        cancelLandmarkImage();
+        landmarkImageLoaded = false;
         try {
-            String imagePath = "/images/" + landmarks[index].toLowerCase().replace(" ", "_") + "/main.jpg";
-            URL imageUrl = getClass().getResource(imagePath);
+            URL imageUrl = landmarkImageUrl(index);
             if (imageUrl != null) {
-                landmarkView.setImage(new Image(imageUrl.toString()));
-                landmarkView.setVisible(true);
+                landmarkView.setImage(placeholderImage);
+                landmarkImageRequest = imageLoader.load(imageUrl, 0, loaded -> {
+                    landmarkView.setImage(loaded);
+                    landmarkImageLoaded = true;
+                    transitions.reveal();
+                }, ex -> {
+                    landmarkView.setImage(null);
+                    transitions.reveal();
+                    System.err.println("Error loading image: " + ex.getMessage());
+                });
             } else {
-                landmarkView.setVisible(false);
-                System.err.println("Image not found: " + imagePath);
+                landmarkView.setImage(null);
+                transitions.reveal();
+                System.err.println("Image not found for: " + landmarks.get(index).name());
             }
         } catch (Exception e) {
-            landmarkView.setVisible(false);
+            landmarkView.setImage(null);
+            transitions.reveal();
             System.err.println("Error loading image: " + e.getMessage());
         }
 
-        mediaView.setVisible(false);
-        stopVideo();
+        if (videoEngine != null) {
+            videoEngine.stop();
+        }
+        videoActive = false;
         stopAudio();
+        // Once media is in use, open the narration now so PLAY AUDIO starts without the preroll delay
+        prepareLandmarkMedia(index);
 
-        playBtn.setVisible(true);
-        playAudioBtn.setVisible(true);
         playAudioBtn.setText("PLAY AUDIO");
-        viewImagesBtn.setVisible(true);
-        goToQuizBtn.setVisible(true);
-        stopVideoBtn.setVisible(false);
         stopVideoBtn.setText("STOP VIDEO");
-        endVideoBtn.setVisible(false);
-        quizBox.setVisible(false);
+        viewState.transition(ViewState.LANDMARK);
+    }
+
+    // Snapshot of the map or a fully loaded landmark as it is left, for the next time it is entered. A
+    // landmark view only ever shows its own image, so its snapshot stays valid at revision 0.
+    private void captureView() {
+        if (viewState.getState() == ViewState.MAP) {
+            long mapRevision = hotspotLayer.getRevision() + (mapView != null ? mapView.getRevision() : 0);
+            transitions.capture(MAP_SNAPSHOT_KEY, mapRevision);
+        } else if (viewState.getState() == ViewState.LANDMARK && landmarkImageLoaded) {
+            transitions.capture(landmarkSnapshotKey(currentLandmark), 0);
+        }
     }
 
+    private static String landmarkSnapshotKey(int index) {
+        return "landmark-" + index;
+    }
 
+    private void cancelLandmarkImage() {
+        if (landmarkImageRequest != null) {
+            landmarkImageRequest.cancel();
+            landmarkImageRequest = null;
+        }
+    }
 
     private void toggleAudio() {
         if (audioPlaying) {
             stopAudio();
         } else {
-            playAudio();
+            metrics.time(TourMetrics.Action.PLAY_AUDIO, this::playAudio);
         }
     }
 
@@ -331,20 +416,19 @@ public class TourInterface {
         try {
             stopAudio();
 
-            String audioPath = "/audios/" + landmarks[currentLandmark].toLowerCase().replace(" ", "_") + ".mp3";
-            URL audioUrl = getClass().getResource(audioPath);
+            URL audioUrl = audioUrl(currentLandmark);
             if (audioUrl != null) {
-                Media audio = new Media(audioUrl.toString());
-                audioPlayer = new MediaPlayer(audio);
-                audioPlayer.setOnEndOfMedia(() -> {
+                narrationPool().play(landmarkAssets[currentLandmark].slug(), audioUrl, () -> {
+                    interactions.record(session, InteractionLog.Kind.AUDIO_FINISHED, currentLandmark, millisSince(audioStartedAt));
                     audioPlaying = false;
                     playAudioBtn.setText("PLAY AUDIO");
                 });
-                audioPlayer.play();
                 audioPlaying = true;
+                audioStartedAt = System.nanoTime();
+                interactions.record(session, InteractionLog.Kind.AUDIO_STARTED, currentLandmark, 0);
                 playAudioBtn.setText("STOP AUDIO");
             } else {
-                showAlert("Audio Error", "Audio file not found: " + audioPath);
+                showAlert("Audio Error", "Audio file not found for: " + landmarks.get(currentLandmark).name());
             }
         } catch (Exception e) {
             showAlert("Audio Error", "Could not play audio: " + e.getMessage());
@@ -352,44 +436,42 @@ public class TourInterface {
     }
 
     private void stopAudio() {
-        if (audioPlayer != null) {
-            audioPlayer.stop();
-            audioPlayer.dispose();
-            audioPlayer = null;
+        recordAudioStopped();
+        if (narrationPool != null) {
+            narrationPool.stopAll();
         }
         audioPlaying = false;
         playAudioBtn.setText("PLAY AUDIO");
     }
 
-    private void playVideo() {
-        try {
-            stopVideo();
+    private void recordAudioStopped() {
+        if (audioPlaying) {
+            interactions.record(session, InteractionLog.Kind.AUDIO_STOPPED, currentLandmark, millisSince(audioStartedAt));
+        }
+    }
 
-            URL videoUrl = getClass().getResource("/videos/maseru_video.mp4");
-            if (videoUrl != null) {
-                Media media = new Media(videoUrl.toString());
-                mediaPlayer = new MediaPlayer(media);
-                mediaView.setMediaPlayer(mediaPlayer);
+    private static long millisSince(long nanos) {
+        return (System.nanoTime() - nanos) / 1_000_000;
+    }
 
-                mediaPlayer.setStartTime(Duration.seconds(videoSegments[currentLandmark][0]));
-                mediaPlayer.setStopTime(Duration.seconds(videoSegments[currentLandmark][1]));
-                mediaPlayer.setOnEndOfMedia(() -> {
-                    videoPlaying = false;
-                    showQuiz();
-                });
+    private URL audioUrl(int index) {
+        AssetManifest.LandmarkAssets assets = landmarkAssets[index];
+        return assets == null ? null : assetManifest.url(assets.audio());
+    }
 
-                landmarkView.setVisible(false);
-                mediaView.setVisible(true);
-                playBtn.setVisible(false);
-                playAudioBtn.setVisible(false);
-                viewImagesBtn.setVisible(false);
-                goToQuizBtn.setVisible(false);
-                stopVideoBtn.setVisible(true);
-                endVideoBtn.setVisible(true);
-                quizBox.setVisible(false);
+    private void playVideo() {
+        try {
+            if (videoEngine().hasVideo(landmarkVideoUrl(currentLandmark))) {
+                cueVideo(currentLandmark);
+                viewState.transition(ViewState.VIDEO);
+                interactions.record(session, InteractionLog.Kind.VIDEO_STARTED, currentLandmark, 0);
 
                 videoPlaying = true;
-                mediaPlayer.play();
+                videoActive = true;
+                videoEngine.play(() -> {
+                    videoPlaying = false;
+                    metrics.time(TourMetrics.Action.SHOW_QUIZ, this::showQuiz);
+                });
             } else {
                 showAlert("Video Error", "Video file not found");
                 showQuiz();
@@ -399,16 +481,32 @@ public class TourInterface {
             showQuiz();
         }
     }
+
+    // Seeks the shared player to the landmark's segment ahead of PLAY VIDEO
+    private void cueVideo(int index) {
+        try {
+            TourCatalog.Landmark landmark = landmarks.get(index);
+            videoEngine().cue(landmarkVideoUrl(index), landmark.videoStart(), landmark.videoEnd());
+        } catch (Exception e) {
+            System.err.println("Error preparing video: " + e.getMessage());
+        }
+    }
+
+    private URL landmarkVideoUrl(int index) {
+        AssetManifest.LandmarkAssets assets = landmarkAssets[index];
+        return assets == null ? null : assetManifest.url(assets.video());
+    }
+
     private void stopVideo() {
-        if (mediaPlayer != null) {
+        if (videoActive) {
             if (videoPlaying) {
                 // Pause the video
-                mediaPlayer.pause();
+                videoEngine.pause();
                 videoPlaying = false;
                 stopVideoBtn.setText("CONTINUE VIDEO");
             } else {
                 // Continue playing
-                mediaPlayer.play();
+                videoEngine.resume();
                 videoPlaying = true;
                 stopVideoBtn.setText("PAUSE VIDEO");
             }
@@ -416,23 +514,12 @@ public class TourInterface {
     }
 
     private void showImageGallery() {
-        Stage galleryStage = new Stage();
-        galleryStage.setTitle(landmarks[currentLandmark] + " - Image Gallery");
-
-        List<Image> images = new ArrayList<>();
-        try {
-            String dirPath = "/images/" + landmarks[currentLandmark].toLowerCase().replace(" ", "_");
-            int imgCount = 1;
-            while (true) {
-                String imgPath = dirPath + "/" + imgCount + ".jpg";
-                URL imgUrl = getClass().getResource(imgPath);
-                if (imgUrl == null) break;
-                images.add(new Image(imgUrl.toString()));
-                imgCount++;
+        List<URL> images = new ArrayList<>();
+        AssetManifest.LandmarkAssets assets = landmarkAssets[currentLandmark];
+        if (assets != null) {
+            for (AssetManifest.Asset image : assets.gallery()) {
+                images.add(assetManifest.imageUrl(image, 600 * primaryStage.getOutputScaleX()));
             }
-        } catch (Exception e) {
-            showAlert("Gallery Error", "Could not load images: " + e.getMessage());
-            return;
         }
 
         if (images.isEmpty()) {
@@ -440,224 +527,67 @@ public class TourInterface {
             return;
         }
 
-        ImageView imageView = new ImageView(images.get(0));
-        imageView.setPreserveRatio(true);
-        imageView.setFitWidth(600);
-
-        Button prevBtn = new Button("Previous");
-        Button nextBtn = new Button("Next");
-        Label countLabel = new Label("1/" + images.size());
-
-        AtomicInteger currentIndex = new AtomicInteger(0);
-
-        prevBtn.setOnAction(e -> {
-            int newIndex = currentIndex.get() > 0 ? currentIndex.get() - 1 : images.size() - 1;
-            currentIndex.set(newIndex);
-            imageView.setImage(images.get(newIndex));
-            countLabel.setText((newIndex+1) + "/" + images.size());
-        });
-
-        nextBtn.setOnAction(e -> {
-            int newIndex = currentIndex.get() < images.size() - 1 ? currentIndex.get() + 1 : 0;
-            currentIndex.set(newIndex);
-            imageView.setImage(images.get(newIndex));
-            countLabel.setText((newIndex+1) + "/" + images.size());
-        });
-
-        HBox controls = new HBox(20, prevBtn, countLabel, nextBtn);
-        controls.setAlignment(Pos.CENTER);
-
-        VBox galleryLayout = new VBox(20, imageView, controls);
-        galleryLayout.setAlignment(Pos.CENTER);
-        galleryLayout.setPadding(new Insets(20));
-
-        galleryStage.setScene(new Scene(galleryLayout, 800, 600));
-        galleryStage.show();
+        if (imageGallery == null) {
+            imageGallery = new ImageGallery(imageLoader, placeholderImage, 600);
+        }
+        interactions.record(session, InteractionLog.Kind.GALLERY_OPENED, currentLandmark, images.size());
+        imageGallery.show(landmarks.get(currentLandmark).name() + " - Image Gallery", images);
     }
 
 
     private void showQuiz() {
-        // ===== SOUND SETTINGS ===== (Adjust these values as needed)
-        // Correct answer sound
-        final int CORRECT_FREQ = 880;    // Frequency in Hz (higher = higher pitch)
-        final int CORRECT_DURATION = 200; // Duration in milliseconds
-        final double CORRECT_VOL = 0.7;   // Volume (0.1 to 0.9)
-
-        // Wrong answer sound
-        final int WRONG_FREQ = 440;
-        final int WRONG_DURATION = 400;
-        final double WRONG_VOL = 0.5;
-
-        // Simple beep player
-        class BeepPlayer {
-            void playBeep(int freq, int duration, double vol) {
-                new Thread(() -> {
-                    try {
-                        byte[] buf = new byte[1];
-                        AudioFormat af = new AudioFormat(44100, 8, 1, true, false);
-                        SourceDataLine sdl = AudioSystem.getSourceDataLine(af);
-                        sdl.open(af);
-                        sdl.start();
-
-                        for (int i = 0; i < duration * 44.1; i++) {
-                            double angle = i / (44100.0 / freq) * 2.0 * Math.PI;
-                            buf[0] = (byte)(Math.sin(angle) * 127.0 * vol);
-                            sdl.write(buf, 0, 1);
-                        }
-                        sdl.drain();
-                        sdl.close();
-                    } catch (Exception ex) {
-                        Toolkit.getDefaultToolkit().beep(); // Fallback
-                    }
-                }).start();
-            }
-        }
-
-        BeepPlayer beeper = new BeepPlayer();
-
-        // Show the map background
-        try {
-            URL mapUrl = getClass().getResource("/images/map/maseru_map.jpg");
-            if (mapUrl != null) {
-                Image mapImage = new Image(mapUrl.toString());
-                mediaView.setMediaPlayer(null);
-                mediaView.setVisible(true);
-                mediaView.setFitWidth(700);
-                mediaView.setPreserveRatio(true);
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading map: " + e.getMessage());
-        }
-
-        // Setup quiz UI
-        landmarkView.setVisible(false);
-        quizBox.getChildren().clear();
-
-        Label question = new Label(quizData[currentLandmark][0]);
-        question.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
-
-        ToggleGroup options = new ToggleGroup();
-        VBox optionsBox = new VBox(5);
-        for (int i = 1; i <= 3; i++) {
-            RadioButton option = new RadioButton(quizData[currentLandmark][i]);
-            option.setToggleGroup(options);
-            option.setStyle("-fx-font-size: 16px; -fx-text-fill: #2c3e50;");
-            optionsBox.getChildren().add(option);
+        TourCatalog.QuizQuestion quiz = quizBank.draw(currentLandmark);
+        if (quiz == null) {
+            resetView();
+            return;
         }
 
-        Button submit = new Button("SUBMIT ANSWER");
-        styleButton(submit, "#27ae60");
-
-        Label result = new Label();
-        result.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
-
-        AtomicBoolean answered = new AtomicBoolean(false);
-
-        // Handle answer submission
-        submit.setOnAction(e -> {
-            if (answered.get()) return;
-
-            RadioButton selected = (RadioButton)options.getSelectedToggle();
-            if (selected != null) {
-                answered.set(true);
-                submit.setDisable(true);
-
-                int selectedIndex = options.getToggles().indexOf(selected) + 1;
-                if (String.valueOf(selectedIndex).equals(quizData[currentLandmark][4])) {
-                    result.setText("Correct! Well done.");
-                    result.setStyle("-fx-text-fill: #27ae60;-fx-font-size: 46px; -fx-font-weight: bold;");
-                    beeper.playBeep(CORRECT_FREQ, CORRECT_DURATION, CORRECT_VOL);
-                } else {
-                    int correctIndex = Integer.parseInt(quizData[currentLandmark][4]);
-                    result.setText("Incorrect. Correct answer: " + quizData[currentLandmark][correctIndex]);
-                    result.setStyle("-fx-text-fill: #e74c3c;-fx-font-size: 26px");
-                    beeper.playBeep(WRONG_FREQ, WRONG_DURATION, WRONG_VOL);
-                }
-
-                // Disable all options after answering
-                options.getToggles().forEach(toggle -> ((RadioButton)toggle).setDisable(true));
-
-                // Return to map after delay
-                new java.util.Timer().schedule(
-                        new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                Platform.runLater(() -> resetView());
-                            }
-                        },
-                        5000
-                );
-            } else {
-                result.setText("Please select an answer!");
-                result.setStyle("-fx-text-fill: #e74c3c;-fx-font-size: 20px; -fx-font-weight: bold;");
-            }
+        quizView().show(quiz, correct -> {
+            interactions.record(session, InteractionLog.Kind.QUIZ_ANSWERED, currentLandmark, correct ? 1 : 0);
+            services.feedbackAudio().play(correct ? FeedbackAudio.Tone.CORRECT : FeedbackAudio.Tone.WRONG);
+            // Return to map after delay
+            uiTasks.schedule(Duration.seconds(5), () -> metrics.time(TourMetrics.Action.RESET_VIEW, this::resetView));
         });
-
-        // Display quiz
-        quizBox.getChildren().addAll(question, optionsBox, submit, result);
-        quizBox.setVisible(true);
-
-        // Position quiz box
-        if (!contentPane.getChildren().contains(quizBox)) {
-            contentPane.getChildren().add(quizBox);
-        }
-        StackPane.setAlignment(quizBox, Pos.CENTER);
-        StackPane.setMargin(quizBox, new Insets(20));
-
-        // Hide other buttons
-        playBtn.setVisible(false);
-        playAudioBtn.setVisible(false);
-        viewImagesBtn.setVisible(false);
-        goToQuizBtn.setVisible(false);
-        stopVideoBtn.setVisible(false);
-        endVideoBtn.setVisible(false);
+        viewState.transition(ViewState.QUIZ);
     }
+
     private void resetView() {
+        captureView();
+        transitions.cover(MAP_SNAPSHOT_KEY);
+        uiTasks.cancelPending();
+        cancelLandmarkImage();
+
         // Stop all media first
-        if (mediaPlayer != null) {
-            mediaPlayer.stop();
-            mediaPlayer.dispose();
-            mediaPlayer = null;
+        if (videoEngine != null) {
+            videoEngine.stop();
         }
-        if (audioPlayer != null) {
-            audioPlayer.stop();
-            audioPlayer.dispose();
-            audioPlayer = null;
+        videoActive = false;
+        recordAudioStopped();
+        if (narrationPool != null) {
+            narrationPool.stopAll();
         }
 
+        if (landmarkSelected) {
+            interactions.record(session, InteractionLog.Kind.LANDMARK_CLOSED, currentLandmark, millisSince(landmarkSelectedAt));
+        }
         landmarkSelected = false;
         currentLandmark = -1;
         videoPlaying = false;
         audioPlaying = false;
 
-        primaryStage.setTitle("Maseru Virtual Tour Guide");
-        titleLabel.setText("MASERU");
-        restartBtn.setVisible(false);
+        primaryStage.setTitle(getHomeTitle());
+        titleLabel.setText(city.name().toUpperCase());
 
-        String[] colors = {"#e74c3c", "#3498db", "#2ecc71", "#f39c12"};
-        for (int i = 0; i < hotspotCircles.size(); i++) {
-            Circle spot = hotspotCircles.get(i);
-            spot.setFill(Color.web(colors[i]));
-            spot.setOpacity(0.7);
-        }
+        hotspotLayer.setSelected(-1);
 
-        landmarkView.setVisible(false);
-        mediaView.setVisible(false);
-        playBtn.setVisible(false);
-        playAudioBtn.setVisible(false);
         playAudioBtn.setText("PLAY AUDIO");
-        viewImagesBtn.setVisible(false);
-        goToQuizBtn.setVisible(false);
-        stopVideoBtn.setVisible(false);
         stopVideoBtn.setText("STOP VIDEO");
-        endVideoBtn.setVisible(false);
-        quizBox.setVisible(false);
-
-        // Simply remove quizBox from contentPane - don't add it back to main layout
-        contentPane.getChildren().remove(quizBox);
+        viewState.transition(ViewState.MAP);
+        transitions.reveal();
     }
 
     private void showAlert(String title, String message) {
+        metrics.alertShown();
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
         alert.setHeaderText(null);
@@ -0,0 +1,377 @@
+package org.example.virtual_tour;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+// Process-wide runtime metrics: action latencies, FX pulse counts, layout times and stalls, view
+// transitions, decoded image volume and load times, live media players, narration time to first sound, media errors,
+// alerts and hover prefetch outcomes. Everything is exported as MBeans under org.example.virtual_tour and,
+// when -Dtour.metrics.file is set, appended to that file every tour.metrics.interval seconds (default 60),
+// rolling over to .1, .2, .3 at 1 MB.
+public class TourMetrics implements TourMetricsMBean {
+    public static final String DOMAIN = "org.example.virtual_tour";
+
+    public enum Action {
+        SELECT_LANDMARK("selectLandmark"),
+        PLAY_AUDIO("playAudio"),
+        PLAY_VIDEO("playVideo"),
+        SHOW_IMAGE_GALLERY("showImageGallery"),
+        SHOW_QUIZ("showQuiz"),
+        RESET_VIEW("resetView");
+
+        private final String label;
+
+        Action(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum Prefetch {
+        STARTED, CANCELLED, SKIPPED, HIT, LATE, MISS
+    }
+
+    private static final long MAX_FRAME_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long MAX_FILE_BYTES = 1024 * 1024;
+    private static final int FILE_BACKUPS = 3;
+    private static final int RECENT_IMAGE_LOADS = 64;
+    private static final TourMetrics INSTANCE = new TourMetrics();
+
+    private final Map<Action, LatencyHistogram> actions = new EnumMap<>(Action.class);
+    private final LatencyHistogram layout = new LatencyHistogram();
+    private final LatencyHistogram frameInterval = new LatencyHistogram();
+    private final LatencyHistogram stalls = new LatencyHistogram();
+    private final LatencyHistogram viewTransitions = new LatencyHistogram();
+    private final LatencyHistogram timeToFirstSound = new LatencyHistogram();
+    private final LatencyHistogram imageDecodes = new LatencyHistogram();
+    private final LatencyHistogram pixelCacheHits = new LatencyHistogram();
+    // Last load time per image, in milliseconds, for the most recently loaded RECENT_IMAGE_LOADS images
+    private final Map<String, Double> recentImageLoads = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+            return size() > RECENT_IMAGE_LOADS;
+        }
+    };
+    private final AtomicLong pulses = new AtomicLong();
+    private final AtomicLong decodedImages = new AtomicLong();
+    private final AtomicLong decodedImageBytes = new AtomicLong();
+    private final AtomicLong mediaErrors = new AtomicLong();
+    private final AtomicLong alerts = new AtomicLong();
+    private final Map<Prefetch, AtomicLong> prefetches = new EnumMap<>(Prefetch.class);
+    private final List<IntSupplier> mediaPlayerGauges = new CopyOnWriteArrayList<>();
+    private volatile Action currentAction;
+
+    private TourMetrics() {
+        for (Action action : Action.values()) {
+            actions.put(action, new LatencyHistogram());
+        }
+        for (Prefetch outcome : Prefetch.values()) {
+            prefetches.put(outcome, new AtomicLong());
+        }
+        register();
+        startFileWriter();
+    }
+
+    public static TourMetrics get() {
+        return INSTANCE;
+    }
+
+    // Runs a user-triggered action and records how long it held the FX thread
+    public void time(Action action, Runnable body) {
+        Action outer = currentAction;
+        currentAction = action;
+        long started = System.nanoTime();
+        try {
+            body.run();
+        } finally {
+            actions.get(action).recordNanos(System.nanoTime() - started);
+            currentAction = outer;
+        }
+    }
+
+    // Innermost action running on the FX thread, or null
+    public Action getCurrentAction() {
+        return currentAction;
+    }
+
+    public void stallEnded(long nanos) {
+        stalls.recordNanos(nanos);
+    }
+
+    // From a view state flip to the end of the layout pass that applied it
+    public void viewTransition(long nanos) {
+        viewTransitions.recordNanos(nanos);
+    }
+
+    // Counts pulses and times the CSS/layout pass of the scene holding this node
+    public void trackScene(Node root) {
+        PulseTimer timer = new PulseTimer();
+        root.sceneProperty().addListener((obs, old, scene) -> {
+            if (old != null) timer.detach(old);
+            if (scene != null) timer.attach(scene);
+        });
+        if (root.getScene() != null) {
+            timer.attach(root.getScene());
+        }
+    }
+
+    public void imageDecoded(Image image) {
+        decodedImages.incrementAndGet();
+        decodedImageBytes.addAndGet((long) image.getWidth() * (long) image.getHeight() * 4);
+    }
+
+    // One ImageLoader decode, either mapped from the pixel cache or decoded from the source
+    public void imageLoaded(String key, boolean fromPixelCache, long nanos) {
+        (fromPixelCache ? pixelCacheHits : imageDecodes).recordNanos(nanos);
+        synchronized (recentImageLoads) {
+            recentImageLoads.put(key, nanos / 1_000_000.0);
+        }
+    }
+
+    public void registerMediaPlayers(IntSupplier gauge) {
+        mediaPlayerGauges.add(gauge);
+    }
+
+    // From the narration play request to the player reporting PLAYING
+    public void narrationStarted(long nanos) {
+        timeToFirstSound.recordNanos(nanos);
+    }
+
+    public void mediaError() {
+        mediaErrors.incrementAndGet();
+    }
+
+    public void alertShown() {
+        alerts.incrementAndGet();
+    }
+
+    public void prefetch(Prefetch outcome) {
+        prefetches.get(outcome).incrementAndGet();
+    }
+
+    public LatencyHistogram getActionLatency(Action action) {
+        return actions.get(action);
+    }
+
+    @Override
+    public long getPulseCount() {
+        return pulses.get();
+    }
+
+    @Override
+    public long getDecodedImages() {
+        return decodedImages.get();
+    }
+
+    @Override
+    public long getDecodedImageBytes() {
+        return decodedImageBytes.get();
+    }
+
+    @Override
+    public String[] getRecentImageLoads() {
+        synchronized (recentImageLoads) {
+            String[] loads = new String[recentImageLoads.size()];
+            int i = 0;
+            for (Map.Entry<String, Double> entry : recentImageLoads.entrySet()) {
+                loads[i++] = String.format(Locale.ROOT, "%s=%.2f", entry.getKey(), entry.getValue());
+            }
+            return loads;
+        }
+    }
+
+    @Override
+    public int getLiveMediaPlayers() {
+        int total = 0;
+        for (IntSupplier gauge : mediaPlayerGauges) {
+            total += gauge.getAsInt();
+        }
+        return total;
+    }
+
+    @Override
+    public long getMediaErrors() {
+        return mediaErrors.get();
+    }
+
+    @Override
+    public long getAlerts() {
+        return alerts.get();
+    }
+
+    @Override
+    public long getPrefetchStarted() {
+        return prefetches.get(Prefetch.STARTED).get();
+    }
+
+    @Override
+    public long getPrefetchCancelled() {
+        return prefetches.get(Prefetch.CANCELLED).get();
+    }
+
+    @Override
+    public long getPrefetchSkipped() {
+        return prefetches.get(Prefetch.SKIPPED).get();
+    }
+
+    @Override
+    public long getPrefetchHits() {
+        return prefetches.get(Prefetch.HIT).get();
+    }
+
+    @Override
+    public long getPrefetchLate() {
+        return prefetches.get(Prefetch.LATE).get();
+    }
+
+    @Override
+    public long getPrefetchMisses() {
+        return prefetches.get(Prefetch.MISS).get();
+    }
+
+    // One line of key=value pairs, as written to the metrics file
+    @Override
+    public String getSnapshot() {
+        StringBuilder line = new StringBuilder(Instant.now().toString());
+        line.append(" pulses=").append(getPulseCount())
+                .append(" decodedImages=").append(getDecodedImages())
+                .append(" decodedImageBytes=").append(getDecodedImageBytes())
+                .append(" mediaPlayers=").append(getLiveMediaPlayers())
+                .append(" mediaErrors=").append(getMediaErrors())
+                .append(" alerts=").append(getAlerts());
+        prefetches.forEach((outcome, count) ->
+                line.append(" prefetch.").append(outcome.name().toLowerCase(Locale.ROOT)).append('=').append(count.get()));
+        appendHistogram(line, "layout", layout);
+        appendHistogram(line, "frameInterval", frameInterval);
+        appendHistogram(line, "stalls", stalls);
+        appendHistogram(line, "viewTransition", viewTransitions);
+        appendHistogram(line, "timeToFirstSound", timeToFirstSound);
+        appendHistogram(line, "imageDecode", imageDecodes);
+        appendHistogram(line, "pixelCacheHit", pixelCacheHits);
+        actions.forEach((action, histogram) -> appendHistogram(line, action.getLabel(), histogram));
+        return line.toString();
+    }
+
+    private static void appendHistogram(StringBuilder line, String name, LatencyHistogram histogram) {
+        line.append(' ').append(name).append(".count=").append(histogram.getCount());
+        line.append(' ').append(name).append(".p50=").append(String.format(Locale.ROOT, "%.2f", histogram.getP50Millis()));
+        line.append(' ').append(name).append(".p99=").append(String.format(Locale.ROOT, "%.2f", histogram.getP99Millis()));
+        line.append(' ').append(name).append(".max=").append(String.format(Locale.ROOT, "%.2f", histogram.getMaxMillis()));
+    }
+
+    private void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, new ObjectName(DOMAIN + ":type=Tour"));
+            server.registerMBean(layout, new ObjectName(DOMAIN + ":type=Pulse,name=layout"));
+            server.registerMBean(frameInterval, new ObjectName(DOMAIN + ":type=Pulse,name=frameInterval"));
+            server.registerMBean(stalls, new ObjectName(DOMAIN + ":type=Pulse,name=stalls"));
+            server.registerMBean(viewTransitions, new ObjectName(DOMAIN + ":type=Pulse,name=viewTransition"));
+            server.registerMBean(timeToFirstSound, new ObjectName(DOMAIN + ":type=Media,name=timeToFirstSound"));
+            server.registerMBean(imageDecodes, new ObjectName(DOMAIN + ":type=Image,name=decode"));
+            server.registerMBean(pixelCacheHits, new ObjectName(DOMAIN + ":type=Image,name=pixelCacheHit"));
+            for (Map.Entry<Action, LatencyHistogram> entry : actions.entrySet()) {
+                server.registerMBean(entry.getValue(),
+                        new ObjectName(DOMAIN + ":type=Action,name=" + entry.getKey().getLabel()));
+            }
+        } catch (JMException e) {
+            System.err.println("Error registering metrics MBeans: " + e.getMessage());
+        }
+    }
+
+    private void startFileWriter() {
+        String path = System.getProperty("tour.metrics.file");
+        if (path == null) return;
+        long interval = Long.getLong("tour.metrics.interval", 60);
+        File file = new File(path);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleAtFixedRate(() -> append(file), interval, interval, TimeUnit.SECONDS);
+    }
+
+    private void append(File file) {
+        try {
+            if (file.length() > MAX_FILE_BYTES) {
+                roll(file, FILE_BACKUPS);
+            }
+            try (Writer out = new FileWriter(file, true)) {
+                out.write(getSnapshot());
+                out.write(System.lineSeparator());
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    // metrics.log -> metrics.log.1 -> ... -> metrics.log.N, dropping the oldest
+    static void roll(File file, int backups) {
+        new File(file.getPath() + "." + backups).delete();
+        for (int i = backups - 1; i >= 1; i--) {
+            new File(file.getPath() + "." + i).renameTo(new File(file.getPath() + "." + (i + 1)));
+        }
+        file.renameTo(new File(file.getPath() + ".1"));
+    }
+
+    private final class PulseTimer {
+        private final Runnable beforeLayout = this::beforeLayout;
+        private final Runnable afterLayout = this::afterLayout;
+        private long lastPulseAt;
+        private long layoutStartedAt;
+
+        void attach(Scene scene) {
+            scene.addPreLayoutPulseListener(beforeLayout);
+            scene.addPostLayoutPulseListener(afterLayout);
+        }
+
+        void detach(Scene scene) {
+            scene.removePreLayoutPulseListener(beforeLayout);
+            scene.removePostLayoutPulseListener(afterLayout);
+        }
+
+        private void beforeLayout() {
+            long now = System.nanoTime();
+            pulses.incrementAndGet();
+            // Gaps longer than this are idle time between animations, not slow frames
+            if (lastPulseAt != 0 && now - lastPulseAt <= MAX_FRAME_INTERVAL_NANOS) {
+                frameInterval.recordNanos(now - lastPulseAt);
+            }
+            lastPulseAt = now;
+            layoutStartedAt = now;
+        }
+
+        private void afterLayout() {
+            if (layoutStartedAt != 0) {
+                layout.recordNanos(System.nanoTime() - layoutStartedAt);
+                layoutStartedAt = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.virtual_tour;
+
+public interface TourMetricsMBean {
+    long getPulseCount();
+
+    long getDecodedImages();
+
+    long getDecodedImageBytes();
+
+    String[] getRecentImageLoads();
+
+    int getLiveMediaPlayers();
+
+    long getMediaErrors();
+
+    long getAlerts();
+
+    long getPrefetchStarted();
+
+    long getPrefetchCancelled();
+
+    long getPrefetchSkipped();
+
+    long getPrefetchHits();
+
+    long getPrefetchLate();
+
+    long getPrefetchMisses();
+
+    String getSnapshot();
+}
@@ -0,0 +1,62 @@
+package org.example.virtual_tour;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+// Services shared by every tour session in the JVM: the asset index, the image decoders and their
+// decoded-image caches, the placeholder image, the delayed-action scheduler and the quiz feedback tones.
+// All of it is immutable or thread-safe; per-screen state (selection, media players, windows, scheduled
+// actions) stays in TourInterface. Media players in particular are never shared: each session owns its
+// narration pool and video engine, so one screen cannot replace another's media.
+public class TourServices {
+    private final AssetManifest assetManifest = AssetManifest.load();
+    private final ImageLoader imageLoader;
+    private final ImageLoader tileLoader;
+    private final Image placeholderImage = ImageLoader.createPlaceholder(16, 9, Color.web("#bdc3c7"));
+    private final UiScheduler uiScheduler = new UiScheduler();
+    private FeedbackAudio feedbackAudio;
+
+    public TourServices() {
+        // -Dtour.imageCache=<MB> bounds the decoded landmark/gallery images kept for reuse across sessions
+        long cacheBytes = Long.getLong("tour.imageCache", 64) * 1024 * 1024;
+        imageLoader = new ImageLoader(2, cacheBytes);
+        tileLoader = new ImageLoader(2, cacheBytes / 2);
+    }
+
+    public AssetManifest getAssetManifest() {
+        return assetManifest;
+    }
+
+    public ImageLoader getImageLoader() {
+        return imageLoader;
+    }
+
+    public ImageLoader getTileLoader() {
+        return tileLoader;
+    }
+
+    public Image getPlaceholderImage() {
+        return placeholderImage;
+    }
+
+    public UiScheduler getUiScheduler() {
+        return uiScheduler;
+    }
+
+    // One mixer thread and audio line however many screens are running
+    public synchronized FeedbackAudio feedbackAudio() {
+        if (feedbackAudio == null) {
+            feedbackAudio = new FeedbackAudio();
+        }
+        return feedbackAudio;
+    }
+
+    public synchronized void shutdown() {
+        imageLoader.shutdown();
+        tileLoader.shutdown();
+        uiScheduler.shutdown();
+        if (feedbackAudio != null) {
+            feedbackAudio.shutdown();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.virtual_tour;
+
+import javafx.animation.FadeTransition;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Region;
+import javafx.scene.transform.Transform;
+import javafx.util.Duration;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Rendered snapshots of the views inside a content region, keyed by the caller (e.g. the map and each
+// landmark). A snapshot is taken of what is on screen when a view is left, unless the one already kept
+// for that key was taken at the same content revision; when the view is entered again the snapshot covers
+// the region at once and fades out after the live view has its content and has been laid out. Snapshots
+// are kept in an LRU bounded by pixel bytes and are ignored once the region has been resized.
+public class TransitionCache {
+    private final Region content;
+    private final ImageView cover = new ImageView();
+    private final Map<String, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private final Duration fade;
+    private long bytes;
+    private FadeTransition fading;
+    private int generation;
+
+    public TransitionCache(Region content, long maxBytes, Duration fade) {
+        this.content = content;
+        this.maxBytes = maxBytes;
+        this.fade = fade;
+        cover.setManaged(false);
+        cover.setMouseTransparent(true);
+        cover.setVisible(false);
+        cover.getStyleClass().add("transition-cover");
+    }
+
+    // Node to add on top of the content region's children
+    public ImageView getCover() {
+        return cover;
+    }
+
+    private record Snapshot(WritableImage image, long revision, double scale) {
+        double width() {
+            return image.getWidth() / scale;
+        }
+
+        double height() {
+            return image.getHeight() / scale;
+        }
+    }
+
+    // revision is the caller's count of changes to what the key's view shows
+    public void capture(String key, long revision) {
+        if (cover.isVisible() || content.getWidth() <= 0 || content.getHeight() <= 0) return;
+        double scale = content.getScene() != null && content.getScene().getWindow() != null
+                ? content.getScene().getWindow().getOutputScaleX() : 1;
+        Snapshot kept = snapshots.get(key);
+        if (kept != null && kept.revision() == revision && kept.scale() == scale && fits(kept)) return;
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setTransform(Transform.scale(scale, scale));
+        // Only the region's own area; children overflowing it are clipped on screen too
+        parameters.setViewport(new Rectangle2D(0, 0, content.getWidth() * scale, content.getHeight() * scale));
+        remember(key, new Snapshot(content.snapshot(parameters, null), revision, scale));
+    }
+
+    private boolean fits(Snapshot snapshot) {
+        return Math.abs(snapshot.width() - content.getWidth()) <= 1
+                && Math.abs(snapshot.height() - content.getHeight()) <= 1;
+    }
+
+    // Shows the key's snapshot over the content; false, with any earlier cover removed, when there is none
+    // for the current size
+    public boolean cover(String key) {
+        generation++;
+        if (fading != null) {
+            fading.stop();
+        }
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && !fits(snapshot)) {
+            forget(key);
+            snapshot = null;
+        }
+        if (snapshot == null) {
+            hide();
+            return false;
+        }
+
+        cover.setImage(snapshot.image());
+        cover.setFitWidth(snapshot.width());
+        cover.setFitHeight(snapshot.height());
+        cover.relocate(0, 0);
+        cover.setOpacity(1);
+        cover.setVisible(true);
+        return true;
+    }
+
+    // Fades the cover out once the next layout pass has placed the live view
+    public void reveal() {
+        if (!cover.isVisible() || content.getScene() == null) return;
+        int revealing = generation;
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            content.getScene().removePostLayoutPulseListener(listener[0]);
+            if (revealing == generation) {
+                fadeOut();
+            }
+        };
+        content.getScene().addPostLayoutPulseListener(listener[0]);
+        content.requestLayout();
+    }
+
+    private void fadeOut() {
+        if (fade.lessThanOrEqualTo(Duration.ZERO)) {
+            hide();
+            return;
+        }
+        fading = new FadeTransition(fade, cover);
+        fading.setFromValue(1);
+        fading.setToValue(0);
+        fading.setOnFinished(e -> hide());
+        fading.play();
+    }
+
+    private void hide() {
+        fading = null;
+        cover.setVisible(false);
+        cover.setImage(null);
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    private void remember(String key, Snapshot snapshot) {
+        long size = bytes(snapshot.image());
+        forget(key);
+        if (size > maxBytes) return;
+        snapshots.put(key, snapshot);
+        bytes += size;
+        Iterator<Snapshot> eldest = snapshots.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= bytes(eldest.next().image());
+            eldest.remove();
+        }
+    }
+
+    private void forget(String key) {
+        Snapshot previous = snapshots.remove(key);
+        if (previous != null) {
+            bytes -= bytes(previous.image());
+        }
+    }
+
+    private static long bytes(WritableImage image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.virtual_tour;
+
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Delayed UI actions on one shared daemon thread, however many tour sessions use it. Each session
+// schedules through its own Group; actions run on the FX thread and are dropped if their group's
+// cancelPending() was called after they were scheduled, e.g. by a view change.
+public class UiScheduler {
+    private final ScheduledExecutorService executor;
+
+    public UiScheduler() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ui-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Group newGroup() {
+        return new Group();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public class Group {
+        private final Set<Task> pending = new HashSet<>();
+
+        private Group() {
+        }
+
+        // Must be called on the FX thread
+        public Task schedule(Duration delay, Runnable action) {
+            Task task = new Task(this, action);
+            pending.add(task);
+            task.future = executor.schedule(() -> Platform.runLater(task::run),
+                    (long) delay.toMillis(), TimeUnit.MILLISECONDS);
+            return task;
+        }
+
+        // Must be called on the FX thread
+        public void cancelPending() {
+            for (Task task : pending) {
+                task.cancelled = true;
+                task.future.cancel(false);
+            }
+            pending.clear();
+        }
+
+        public int getPendingCount() {
+            return pending.size();
+        }
+    }
+
+    public static class Task {
+        private final Group group;
+        private final Runnable action;
+        private ScheduledFuture<?> future;
+        private boolean cancelled;
+
+        private Task(Group group, Runnable action) {
+            this.group = group;
+            this.action = action;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            future.cancel(false);
+            group.pending.remove(this);
+        }
+
+        private void run() {
+            if (cancelled) return;
+            group.pending.remove(this);
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.virtual_tour;
+
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.scene.media.MediaView;
+import javafx.util.Duration;
+
+import java.net.URL;
+
+// Keeps one prepared player for the tour video and moves between landmark segments by seeking,
+// so switching landmarks never re-opens or re-parses the file. A landmark with its own pre-split
+// segment file gets a dedicated player instead, started from the beginning. A player that reports an error
+// is disposed and the next cue() opens a fresh one.
+public class VideoEngine {
+    private final MediaView mediaView;
+    private final URL tourVideoUrl;
+
+    // Volatile for the JMX media player gauge, which counts them off the FX thread
+    private volatile MediaPlayer tourPlayer;
+    private volatile MediaPlayer segmentPlayer;
+    private URL segmentUrl;
+    private MediaPlayer active;
+    private Duration cueStart = Duration.ZERO;
+    private Duration tourStart = Duration.ZERO;
+    private Duration tourStop = Duration.INDEFINITE;
+    private Runnable onEnd;
+
+    public VideoEngine(MediaView mediaView, URL tourVideoUrl) {
+        this.mediaView = mediaView;
+        this.tourVideoUrl = tourVideoUrl;
+    }
+
+    public boolean hasVideo(URL landmarkVideoUrl) {
+        return landmarkVideoUrl != null || tourVideoUrl != null;
+    }
+
+    // Prepares the segment so a later play() starts immediately; safe to call repeatedly
+    public void cue(URL landmarkVideoUrl, double startSeconds, double stopSeconds) {
+        if (landmarkVideoUrl != null) {
+            if (!landmarkVideoUrl.equals(segmentUrl)) {
+                if (segmentPlayer != null) {
+                    segmentPlayer.dispose();
+                }
+                segmentPlayer = createPlayer(landmarkVideoUrl);
+                segmentUrl = landmarkVideoUrl;
+            }
+            switchTo(segmentPlayer);
+            cueStart = Duration.ZERO;
+            seekWhenReady(segmentPlayer, cueStart);
+            return;
+        }
+        if (tourVideoUrl == null) return;
+
+        if (tourPlayer == null) {
+            tourPlayer = createPlayer(tourVideoUrl);
+        }
+        switchTo(tourPlayer);
+
+        tourStart = Duration.seconds(startSeconds);
+        tourStop = Duration.seconds(stopSeconds);
+        cueStart = tourStart;
+        if (tourPlayer.getStatus() == MediaPlayer.Status.UNKNOWN) {
+            // The stop time reads UNKNOWN until the media is parsed; apply whichever cue is latest by then
+            MediaPlayer player = tourPlayer;
+            player.setOnReady(() -> applyTourWindow(player));
+        } else {
+            applyTourWindow(tourPlayer);
+        }
+    }
+
+    public void play(Runnable onEnd) {
+        if (active == null) return;
+        this.onEnd = onEnd;
+        mediaView.setMediaPlayer(active);
+        active.play();
+    }
+
+    public void pause() {
+        if (active != null) {
+            active.pause();
+        }
+    }
+
+    public void resume() {
+        if (active != null) {
+            active.play();
+        }
+    }
+
+    // Rewinds to the cued segment start but keeps the player open
+    public void stop() {
+        onEnd = null;
+        if (active != null) {
+            active.pause();
+            // A player that is not ready yet still has the cue's seek pending in its onReady
+            if (active.getStatus() != MediaPlayer.Status.UNKNOWN) {
+                active.seek(cueStart);
+            }
+        }
+    }
+
+    // Open players, for leak checks
+    public int getPlayerCount() {
+        return (tourPlayer != null ? 1 : 0) + (segmentPlayer != null ? 1 : 0);
+    }
+
+    public void dispose() {
+        if (tourPlayer != null) {
+            tourPlayer.dispose();
+        }
+        if (segmentPlayer != null) {
+            segmentPlayer.dispose();
+        }
+        tourPlayer = null;
+        segmentPlayer = null;
+        segmentUrl = null;
+        active = null;
+        mediaView.setMediaPlayer(null);
+    }
+
+    private MediaPlayer createPlayer(URL url) {
+        MediaPlayer player = new MediaPlayer(new Media(url.toString()));
+        player.setOnEndOfMedia(() -> {
+            // stop() rewinds to the start time and leaves the player ready to replay
+            player.stop();
+            Runnable callback = onEnd;
+            onEnd = null;
+            if (callback != null && player == active) {
+                callback.run();
+            }
+        });
+        player.setOnError(() -> {
+            System.err.println("Video error: " + player.getError());
+            TourMetrics.get().mediaError();
+            discard(player);
+        });
+        return player;
+    }
+
+    // A failed player cannot be reused. A segment that was playing on it ends, so the caller moves on.
+    private void discard(MediaPlayer player) {
+        if (player == tourPlayer) {
+            tourPlayer = null;
+        }
+        if (player == segmentPlayer) {
+            segmentPlayer = null;
+            segmentUrl = null;
+        }
+        Runnable callback = null;
+        if (player == active) {
+            active = null;
+            callback = onEnd;
+            onEnd = null;
+        }
+        if (mediaView.getMediaPlayer() == player) {
+            mediaView.setMediaPlayer(null);
+        }
+        player.dispose();
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private void applyTourWindow(MediaPlayer player) {
+        // Keep start < stop while moving the window in either direction
+        if (tourStart.greaterThanOrEqualTo(player.getStopTime())) {
+            player.setStopTime(tourStop);
+            player.setStartTime(tourStart);
+        } else {
+            player.setStartTime(tourStart);
+            player.setStopTime(tourStop);
+        }
+        player.seek(tourStart);
+    }
+
+    private void switchTo(MediaPlayer player) {
+        if (active != null && active != player) {
+            active.pause();
+        }
+        active = player;
+    }
+
+    private static void seekWhenReady(MediaPlayer player, Duration position) {
+        if (player.getStatus() == MediaPlayer.Status.UNKNOWN) {
+            player.setOnReady(() -> player.seek(position));
+        } else {
+            player.seek(position);
+        }
+    }
+}
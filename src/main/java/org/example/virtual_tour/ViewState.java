@@ -0,0 +1,18 @@
+package org.example.virtual_tour;
+
+import javafx.css.PseudoClass;
+
+// Screens of the tour. The active state is set as a pseudo-class on the root node and tour.css decides
+// which controls each state shows.
+public enum ViewState {
+    MAP,
+    LANDMARK,
+    VIDEO,
+    QUIZ;
+
+    private final PseudoClass pseudoClass = PseudoClass.getPseudoClass(name().toLowerCase());
+
+    public PseudoClass getPseudoClass() {
+        return pseudoClass;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.virtual_tour;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+// Applies view state transitions as a single pseudo-class flip on the root, so a transition costs one
+// CSS and layout pass however many controls it shows or hides. Each transition is timed from the flip to
+// the end of the layout pass that applied it and recorded in TourMetrics.
+public class ViewStateMachine {
+    private final Node root;
+    private final Runnable layoutListener = this::layoutDone;
+    private ViewState state;
+    private final TourMetrics metrics = TourMetrics.get();
+    private long transitionStartedAt;
+
+    public ViewStateMachine(Node root, ViewState initial) {
+        this.root = root;
+        this.state = initial;
+        root.pseudoClassStateChanged(initial.getPseudoClass(), true);
+        root.sceneProperty().addListener((obs, old, scene) -> {
+            if (old != null) old.removePostLayoutPulseListener(layoutListener);
+            if (scene != null) scene.addPostLayoutPulseListener(layoutListener);
+        });
+        Scene scene = root.getScene();
+        if (scene != null) {
+            scene.addPostLayoutPulseListener(layoutListener);
+        }
+    }
+
+    public void transition(ViewState next) {
+        if (next == state) return;
+        root.pseudoClassStateChanged(state.getPseudoClass(), false);
+        root.pseudoClassStateChanged(next.getPseudoClass(), true);
+        state = next;
+        if (transitionStartedAt == 0) {
+            transitionStartedAt = System.nanoTime();
+        }
+    }
+
+    public ViewState getState() {
+        return state;
+    }
+
+    private void layoutDone() {
+        if (transitionStartedAt == 0) return;
+        metrics.viewTransition(System.nanoTime() - transitionStartedAt);
+        transitionStartedAt = 0;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.virtual_tour;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractionLogTest {
+    private record Event(long time, int kind, int session, int landmark, int value) {
+    }
+
+    private static List<Event> read(Path file) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            assertEquals(InteractionLog.MAGIC, in.readInt());
+            assertEquals(InteractionLog.VERSION, in.readInt());
+            while (true) {
+                long time;
+                try {
+                    time = in.readLong();
+                } catch (EOFException e) {
+                    return events;
+                }
+                events.add(new Event(time, in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedShort(), in.readInt()));
+            }
+        }
+    }
+
+    @Test
+    void disabledLogRecordsNothing() {
+        InteractionLog log = new InteractionLog(null);
+        assertFalse(log.isEnabled());
+        assertFalse(log.record(0, InteractionLog.Kind.LANDMARK_SELECTED, 1, 0));
+        assertEquals(0, log.getDropped());
+    }
+
+    @Test
+    void writesRecordsInTheFileFormat(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("interactions.bin");
+        InteractionLog log = new InteractionLog(file.toString());
+        int session = log.newSession();
+        assertTrue(log.record(session, InteractionLog.Kind.GALLERY_OPENED, 3, 12));
+        assertTrue(log.record(session, InteractionLog.Kind.LANDMARK_CLOSED, 3, Long.MAX_VALUE));
+        log.drain();
+
+        List<Event> events = read(file);
+        assertEquals(2, events.size());
+        assertEquals(new Event(events.get(0).time(), InteractionLog.Kind.GALLERY_OPENED.ordinal(), session, 3, 12),
+                events.get(0));
+        assertEquals(Integer.MAX_VALUE, events.get(1).value());
+        assertTrue(events.get(0).time() <= events.get(1).time());
+    }
+
+    @Test
+    void everyRecordIsEitherWrittenOrCountedAsDropped(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("interactions.bin");
+        InteractionLog log = new InteractionLog(file.toString());
+        int producers = 8;
+        int perProducer = 5000; // 40000 records stay under the 1 MB roll-over
+        AtomicLong accepted = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int session = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    if (log.record(session, InteractionLog.Kind.QUIZ_ANSWERED, i, i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        log.drain();
+
+        List<Event> events = read(file);
+        assertEquals(accepted.get(), events.size());
+        assertEquals((long) producers * perProducer, events.size() + log.getDropped());
+
+        // Claims are ordered, so each producer's surviving records appear in the order it made them
+        int[] lastValue = new int[producers];
+        Arrays.fill(lastValue, -1);
+        for (Event event : events) {
+            assertEquals(InteractionLog.Kind.QUIZ_ANSWERED.ordinal(), event.kind());
+            assertEquals(event.landmark(), event.value());
+            assertTrue(event.value() > lastValue[event.session()], "out of order for session " + event.session());
+            lastValue[event.session()] = event.value();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.virtual_tour;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    private static final long HOUR_MICROS = 3_600_000_000L;
+
+    // Percentile of a lone value, with a far larger one recorded so the maximum does not cap the answer
+    private static double reported(long micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(micros * 1_000);
+        histogram.recordNanos((1L << 50) * 1_000);
+        return histogram.percentileMillis(50) * 1000;
+    }
+
+    private static void assertWithinAnEighth(double expected, double reported) {
+        assertTrue(reported >= expected * (1 - 1e-12) && reported <= expected * (1 + 1.0 / 8) * (1 + 1e-12),
+                "expected about " + expected + " but got " + reported);
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        for (long micros = 0; micros < 8; micros++) {
+            assertEquals(micros, reported(micros), 1e-9);
+        }
+    }
+
+    @Test
+    void percentilesStayWithinAnEighthAboveTheValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long micros = 8 + (long) Math.exp(random.nextDouble() * Math.log(HOUR_MICROS));
+            assertWithinAnEighth(micros, reported(micros));
+        }
+    }
+
+    @Test
+    void bucketEdgesAroundPowersOfTwo() {
+        for (int bit = 3; bit < 40; bit++) {
+            long power = 1L << bit;
+            for (long micros : new long[]{power - 1, power, power + 1}) {
+                assertWithinAnEighth(micros, reported(micros));
+            }
+        }
+    }
+
+    @Test
+    void percentileRanksAndMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 100; ms >= 1; ms--) {
+            histogram.recordNanos(ms * 1_000_000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 1e-9);
+        assertEquals(100, histogram.getMaxMillis(), 1e-9);
+        // The p-th percentile is the ceil(p% * n)-th smallest value, rounded up to its bucket
+        assertWithinAnEighth(1, histogram.percentileMillis(0));
+        assertWithinAnEighth(1, histogram.percentileMillis(1));
+        assertWithinAnEighth(50, histogram.getP50Millis());
+        assertWithinAnEighth(90, histogram.getP90Millis());
+        assertWithinAnEighth(99, histogram.getP99Millis());
+        assertEquals(100, histogram.percentileMillis(100), 1e-9);
+    }
+
+    @Test
+    void percentilesNeverExceedTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(1_000_001_000L); // 1000.001 ms, in a bucket reaching up to 1048.575 ms
+        assertEquals(1000.001, histogram.getP50Millis(), 1e-9);
+        assertEquals(1000.001, histogram.getP99Millis(), 1e-9);
+    }
+
+    @Test
+    void emptyAndResetHistogramsReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getP50Millis());
+        assertEquals(0, histogram.getMeanMillis());
+        histogram.recordNanos(5_000_000);
+        histogram.recordNanos(-1);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.percentileMillis(50), 1e-9);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getP99Millis());
+        assertEquals(0, histogram.getMaxMillis());
+    }
+}
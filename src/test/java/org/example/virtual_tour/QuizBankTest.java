@@ -0,0 +1,76 @@
+package org.example.virtual_tour;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizBankTest {
+    private static TourCatalog.Landmark landmark(int index, int questions) {
+        List<TourCatalog.QuizQuestion> quizzes = new ArrayList<>();
+        for (int i = 0; i < questions; i++) {
+            quizzes.add(new TourCatalog.QuizQuestion("q" + index + "." + i, List.of("a", "b"), 0));
+        }
+        return new TourCatalog.Landmark(index, "l" + index, "Landmark " + index, 0.5, 0.5, "#000000", 0, 0,
+                List.copyOf(quizzes));
+    }
+
+    @Test
+    void noQuestionRepeatsWithinARound() {
+        for (int size = 1; size <= 6; size++) {
+            QuizBank bank = new QuizBank(List.of(landmark(0, size)), new Random(size));
+            for (int round = 0; round < 200; round++) {
+                Set<String> seen = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    String question = bank.draw(0).question();
+                    assertTrue(seen.add(question), "repeated " + question + " in round " + round);
+                }
+                assertEquals(size, seen.size());
+            }
+        }
+    }
+
+    @Test
+    void newRoundNeverOpensWithThePreviousLastQuestion() {
+        for (long seed = 0; seed < 50; seed++) {
+            QuizBank bank = new QuizBank(List.of(landmark(0, 3)), new Random(seed));
+            String last = null;
+            for (int round = 0; round < 100; round++) {
+                String first = bank.draw(0).question();
+                assertNotEquals(last, first, "round " + round + " opened with the previous last question");
+                bank.draw(0);
+                last = bank.draw(0).question();
+            }
+        }
+    }
+
+    @Test
+    void singleQuestionBankKeepsDrawingIt() {
+        QuizBank bank = new QuizBank(List.of(landmark(0, 1)), new Random(1));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("q0.0", bank.draw(0).question());
+        }
+    }
+
+    @Test
+    void landmarksDrawFromTheirOwnDecks() {
+        QuizBank bank = new QuizBank(List.of(landmark(0, 2), landmark(1, 0), landmark(2, 2)), new Random(7));
+        Set<String> first = new HashSet<>();
+        Set<String> third = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            first.add(bank.draw(0).question());
+            third.add(bank.draw(2).question());
+        }
+        assertEquals(Set.of("q0.0", "q0.1"), first);
+        assertEquals(Set.of("q2.0", "q2.1"), third);
+        assertNull(bank.draw(1));
+    }
+}
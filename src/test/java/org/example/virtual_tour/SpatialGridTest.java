@@ -0,0 +1,86 @@
+package org.example.virtual_tour;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SpatialGridTest {
+    private static SpatialGrid corners() {
+        // Points on every edge of the unit map plus a box straddling several cells
+        SpatialGrid grid = new SpatialGrid(0.1);
+        grid.add(0, 0, 0, 0, 0);
+        grid.add(1, 1, 0, 0, 0);
+        grid.add(2, 0, 1, 0, 0);
+        grid.add(3, 1, 1, 0, 0);
+        grid.add(4, 0.25, 0.25, 0.3, 0.3);
+        return grid;
+    }
+
+    private static List<Integer> query(SpatialGrid grid, double x, double y, double width, double height) {
+        List<Integer> ids = new ArrayList<>();
+        grid.query(x, y, width, height, ids::add);
+        ids.sort(null);
+        return ids;
+    }
+
+    @Test
+    void hitFindsItemsOnTheGridEdges() {
+        SpatialGrid grid = corners();
+        assertEquals(0, grid.hit(0, 0));
+        assertEquals(1, grid.hit(1, 0));
+        assertEquals(2, grid.hit(0, 1));
+        assertEquals(3, grid.hit(1, 1));
+        assertEquals(4, grid.hit(0.55, 0.55));
+    }
+
+    @Test
+    void hitOutsideTheOccupiedCellsMisses() {
+        SpatialGrid grid = corners();
+        assertEquals(-1, grid.hit(-0.5, 0.5));
+        assertEquals(-1, grid.hit(1.5, 0.5));
+        assertEquals(-1, grid.hit(0.5, -1e9));
+        assertEquals(-1, grid.hit(1e12, 1e12));
+        assertEquals(-1, new SpatialGrid(0.1).hit(0, 0));
+    }
+
+    @Test
+    void hitPrefersTheLastAddedItem() {
+        SpatialGrid grid = new SpatialGrid(0.1);
+        grid.add(0, 0.2, 0.2, 0.1, 0.1);
+        grid.add(1, 0.25, 0.25, 0.1, 0.1);
+        assertEquals(1, grid.hit(0.27, 0.27));
+        assertEquals(0, grid.hit(0.21, 0.21));
+    }
+
+    @Test
+    void queryVisitsEachIntersectingItemOnce() {
+        SpatialGrid grid = corners();
+        assertEquals(List.of(0, 4), query(grid, 0, 0, 0.3, 0.3));
+        assertEquals(List.of(3, 4), query(grid, 0.5, 0.5, 0.5, 0.5));
+        assertEquals(List.of(4), query(grid, 0.3, 0.3, 0.1, 0.1));
+        assertEquals(List.of(), query(grid, 0.6, 0.1, 0.2, 0.2));
+    }
+
+    @Test
+    void queryOutsideTheOccupiedCellsIsEmpty() {
+        SpatialGrid grid = corners();
+        assertEquals(List.of(), query(grid, -2, -2, 1, 1));
+        assertEquals(List.of(), query(grid, 1.5, 0, 1, 1));
+        assertEquals(List.of(), query(new SpatialGrid(0.1), -1e6, -1e6, 2e6, 2e6));
+    }
+
+    @Test
+    void oversizedQueryOnlyWalksOccupiedCells() {
+        SpatialGrid grid = corners();
+        // Unclamped, this box would cover about 10^14 cells
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () ->
+                assertEquals(List.of(0, 1, 2, 3, 4), query(grid, -1e6, -1e6, 2e6, 2e6)));
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () ->
+                assertEquals(List.of(0, 4), query(grid, -1e6, -1e6, 1e6 + 0.3, 1e6 + 0.3)));
+    }
+}
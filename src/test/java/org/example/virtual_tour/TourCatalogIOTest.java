@@ -0,0 +1,132 @@
+package org.example.virtual_tour;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TourCatalogIOTest {
+    private static final String CATALOG = """
+            {"cities": [
+              {"id": "maseru", "name": "Maseru", "map": "/images/map/maseru_map.jpg", "video": "/videos/tour.mp4",
+               "landmarks": [
+                 {"id": "palace", "name": "Royal Palace", "position": [0.4, 0.38], "color": "#3498db",
+                  "video": [240, 280],
+                  "quizzes": [{"question": "Built when?", "options": ["1800s", "1900s", "2000s"], "answer": 1},
+                              {"question": "Who lives there?", "options": ["The King", "Nobody"], "answer": 0}]},
+                 {"id": "stadium", "name": "Setsoto Stadium", "position": [0, 1],
+                  "quiz": {"question": "Capacity?", "options": ["10,000", "20,000"], "answer": 1}}
+               ]},
+              {"id": "pixels", "mapSize": [1000, 500],
+               "landmarks": [{"id": "corner", "x": 250, "y": 500}]}
+            ]}
+            """;
+
+    private static TourCatalog json(String text) throws IOException {
+        return TourCatalogIO.readJson(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String landmark(String position) {
+        return "{\"cities\": [{\"id\": \"c\", \"mapSize\": [100, 100], \"landmarks\": [{\"id\": \"l\", " + position + "}]}]}";
+    }
+
+    private static String quiz(String options, int answer) {
+        return "{\"cities\": [{\"id\": \"c\", \"landmarks\": [{\"id\": \"l\", \"position\": [0.5, 0.5], "
+                + "\"quiz\": {\"question\": \"q\", \"options\": " + options + ", \"answer\": " + answer + "}}]}]}";
+    }
+
+    @Test
+    void jsonSurvivesTheBinaryRoundTrip() throws IOException {
+        TourCatalog parsed = json(CATALOG);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TourCatalogIO.writeBinary(parsed, bytes);
+        TourCatalog read = TourCatalogIO.readBinary(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(parsed.getCities(), read.getCities());
+        TourCatalog.City maseru = read.city("maseru");
+        assertEquals("/videos/tour.mp4", maseru.video());
+        TourCatalog.Landmark palace = maseru.landmarks().get(0);
+        assertEquals(0.4, palace.x());
+        assertEquals(0.38, palace.y());
+        assertEquals(240, palace.videoStart());
+        assertEquals(280, palace.videoEnd());
+        assertEquals(2, palace.quizzes().size());
+        assertEquals(1, palace.quizzes().get(0).answer());
+        TourCatalog.Landmark stadium = maseru.landmarks().get(1);
+        assertEquals(1, stadium.index());
+        assertEquals("#3498db", stadium.color());
+        assertEquals(List.of("10,000", "20,000"), stadium.quizzes().get(0).options());
+
+        TourCatalog.City pixels = read.city("pixels");
+        assertEquals("pixels", pixels.name());
+        assertNull(pixels.mapImage());
+        assertNull(pixels.video());
+        assertEquals(0.25, pixels.landmarks().get(0).x());
+        assertEquals(1.0, pixels.landmarks().get(0).y());
+    }
+
+    @Test
+    void bundledCatalogMatchesItsCompiledForm() throws IOException {
+        try (InputStream json = TourCatalog.class.getResourceAsStream(TourCatalog.JSON_RESOURCE);
+             InputStream binary = TourCatalog.class.getResourceAsStream(TourCatalog.BINARY_RESOURCE)) {
+            assertEquals(TourCatalogIO.readJson(json).getCities(), TourCatalogIO.readBinary(binary).getCities());
+        }
+    }
+
+    @Test
+    void rejectsOlderBinaryVersions() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TourCatalogIO.writeBinary(json(CATALOG), bytes);
+        byte[] v2 = bytes.toByteArray();
+        v2[7] = 2; // big-endian version int after the magic
+
+        IOException e = assertThrows(IOException.class,
+                () -> TourCatalogIO.readBinary(new ByteArrayInputStream(v2)));
+        assertTrue(e.getMessage().contains("version: 2"), e.getMessage());
+    }
+
+    @Test
+    void rejectsForeignBinaryFiles() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeInt(0xCAFEBABE);
+        assertThrows(IOException.class, () -> TourCatalogIO.readBinary(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void rejectsPositionsOutsideTheMap() {
+        assertThrows(IOException.class, () -> json(landmark("\"position\": [1.01, 0.5]")));
+        assertThrows(IOException.class, () -> json(landmark("\"position\": [0.5, -0.01]")));
+        assertThrows(IOException.class, () -> json(landmark("\"x\": 101, \"y\": 50")));
+        assertThrows(IOException.class, () -> json(landmark("\"x\": 50, \"y\": -1")));
+    }
+
+    @Test
+    void acceptsPositionsOnTheMapEdges() throws IOException {
+        assertEquals(1.0, json(landmark("\"position\": [1, 0]")).city("c").landmarks().get(0).x());
+        assertEquals(1.0, json(landmark("\"x\": 0, \"y\": 100")).city("c").landmarks().get(0).y());
+    }
+
+    @Test
+    void rejectsPixelPositionsWithoutMapSize() {
+        assertThrows(IOException.class, () -> json(
+                "{\"cities\": [{\"id\": \"c\", \"landmarks\": [{\"id\": \"l\", \"x\": 10, \"y\": 10}]}]}"));
+    }
+
+    @Test
+    void rejectsBadAnswerIndices() throws IOException {
+        assertThrows(IOException.class, () -> json(quiz("[\"a\", \"b\"]", 2)));
+        assertThrows(IOException.class, () -> json(quiz("[\"a\", \"b\"]", -1)));
+        assertThrows(IOException.class, () -> json(quiz("[\"a\"]", 0)));
+        assertEquals(1, json(quiz("[\"a\", \"b\"]", 1)).city("c").landmarks().get(0).quizzes().get(0).answer());
+    }
+}